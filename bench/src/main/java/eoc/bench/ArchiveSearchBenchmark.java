@@ -0,0 +1,114 @@
+package eoc.bench;
+
+import com.echoesofcommand.ArchiveIndex;
+import com.echoesofcommand.ArchiveRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archive search over synthetic archives of growing size. {@code scan} is the former
+ * {@code ArchiveController.matchesKeyword} filter: a lower-cased substring test of every text
+ * field of every entry of the player, then a sort by level. {@code index} goes through
+ * {@link ArchiveIndex}. {@code indexRefine} measures two keystrokes the way the archive screen
+ * runs them: the query without its last letter, then the full query refined from that result.
+ *
+ * <p>The archive is spread over {@code users} players and the searching player is the first
+ * one. The scan baseline keeps that player's entries in the former layout, so for 10M rows
+ * spread them and give the fork more heap: {@code -p rows=10000000 -p users=100 -jvmArgsAppend -Xmx12g}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ArchiveSearchBenchmark {
+    private static final long SEED = 42;
+
+    @State(Scope.Benchmark)
+    public static class Archive {
+        @Param({"10000", "100000", "1000000"})
+        public int rows;
+
+        @Param({"1", "100"})
+        public int users;
+
+        String username;
+        List<String> queries;
+        ArchiveIndex<ArchiveRecord> index;
+        List<Map<String, Object>> legacyEntries;
+
+        @Setup
+        public void setUp() {
+            List<ArchiveRecord> records = SyntheticData.archive(rows, users, SEED);
+            username = records.get(0).username();
+            queries = SyntheticData.queries(256, SEED);
+            index = ArchiveIndex.forRecords();
+            for (ArchiveRecord record : records) {
+                index.add(record.username(), record);
+            }
+            // The former layout: every entry of the player with its text copied in
+            List<ArchiveRecord> own = new ArrayList<>();
+            for (ArchiveRecord record : records) {
+                if (record.username().equals(username)) own.add(record);
+            }
+            legacyEntries = SyntheticData.legacyArchive(own);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String query(Archive archive) {
+            return archive.queries.get(next++ & (archive.queries.size() - 1));
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> scan(Archive archive, Cursor cursor) {
+        String keyword = cursor.query(archive);
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (Map<String, Object> entry : archive.legacyEntries) {
+            if (matchesKeyword(entry, keyword)) matches.add(entry);
+        }
+        matches.sort(Comparator.comparingInt(entry -> (Integer) entry.get("levelNumber")));
+        return matches;
+    }
+
+    @Benchmark
+    public List<ArchiveRecord> index(Archive archive, Cursor cursor) {
+        List<ArchiveRecord> matches = new ArrayList<>(archive.index.search(archive.username, cursor.query(archive)));
+        matches.sort(Comparator.comparingInt(ArchiveRecord::levelNumber));
+        return matches;
+    }
+
+    @Benchmark
+    public ArchiveIndex.Hits<ArchiveRecord> indexRefine(Archive archive, Cursor cursor) {
+        String query = cursor.query(archive);
+        ArchiveIndex.Hits<ArchiveRecord> previous = archive.index.find(archive.username, query.substring(0, query.length() - 1), null);
+        return archive.index.find(archive.username, query, previous);
+    }
+
+    private static boolean matchesKeyword(Map<String, Object> entry, String keyword) {
+        for (String field : new String[] {"leader", "description", "historicalChoice", "playerChoice", "summary"}) {
+            Object value = entry.get(field);
+            if (value != null && value.toString().toLowerCase().contains(keyword)) return true;
+        }
+        return false;
+    }
+}
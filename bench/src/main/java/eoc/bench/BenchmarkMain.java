@@ -0,0 +1,28 @@
+package eoc.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Runs JMH with the given arguments and, unless a result
+ * format or file is given, writes the results as JSON to jmh-result.json so runs can be
+ * archived and compared (for example with a JMH visualizer).
+ */
+public final class BenchmarkMain {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,90 @@
+package eoc.bench;
+
+import com.echoesofcommand.JsonLoader;
+import com.echoesofcommand.ScenarioPack;
+import com.echoesofcommand.ScenarioPackCompiler;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eoc.ui.model.Leader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of getting the scenario catalog, on synthetic catalogs of growing size.
+ * {@code jacksonParse} is the former {@code loadHistory} path that every screen ran: parse
+ * history.json into GUI leaders. {@code packMap} maps the compiled pack and materializes the
+ * leaders, which is what the catalog does once per process. {@code jsonLoaderCached} is what
+ * {@link JsonLoader#loadLeaders} costs after that, on the shipped history.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogLoadBenchmark {
+    private static final String CATALOG_FILE = "synthetic-history.json";
+
+    /** Leaders in the synthetic catalog; the shipped catalog has 4 with 10 levels each. */
+    @Param({"4", "64", "1024"})
+    public int leaders;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonLoader jsonLoader = new JsonLoader();
+    private Path dir;
+    private Path json;
+    private Path pack;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("eoc-bench-catalog");
+        json = dir.resolve(CATALOG_FILE);
+        mapper.writeValue(json.toFile(), SyntheticData.catalog(leaders, 10, 42));
+        ScenarioPackCompiler.main(new String[] {dir.toString(), CATALOG_FILE});
+        pack = dir.resolve(ScenarioPack.packNameFor(CATALOG_FILE));
+        jsonLoader.loadLeaders("history.json");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Leader> jacksonParse() throws IOException {
+        return mapper.readValue(json.toFile(), new TypeReference<List<Leader>>() {});
+    }
+
+    @Benchmark
+    public List<Leader> packMap() throws IOException {
+        return ScenarioPack.map(pack).guiLeaders();
+    }
+
+    @Benchmark
+    public List<com.echoesofcommand.Leader> jsonLoaderCached() {
+        return jsonLoader.loadLeaders("history.json");
+    }
+}
@@ -0,0 +1,86 @@
+package eoc.bench;
+
+import com.echoesofcommand.PlayPlan;
+import com.echoesofcommand.ScenarioCatalog;
+import eoc.ui.model.Choice;
+import eoc.ui.model.Decision;
+import eoc.ui.model.Leader;
+import eoc.ui.model.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording the decisions of one full sequential round, as LevelController does on
+ * every click. {@code mapRecords} is the former path: a HashMap per decision with boxed
+ * values, copied text and a stream over the choices to find the historical one.
+ * {@code decisionRecords} is the current one: a {@link Decision} referencing the level, with
+ * the historical index read from the precompiled {@link PlayPlan}.
+ *
+ * <p>Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionRecordingBenchmark {
+    private PlayPlan<Leader, Level> plan;
+    private int[] choices;
+    private final String username = "commander";
+
+    @Setup
+    public void setUp() {
+        List<Leader> leaders = ScenarioCatalog.getInstance().guiLeaders("history.json");
+        plan = PlayPlan.compileGui(leaders, false, null);
+        choices = new int[plan.size()];
+        for (int i = 0; i < choices.length; i++) {
+            choices[i] = i % 2;
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapRecords() {
+        List<Map<String, Object>> archives = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            Level level = plan.level(i);
+            Choice choice = level.getChoices().get(choices[i]);
+            boolean correct = choice.isHistorical();
+            String leaderName = level.getLeader() != null ? level.getLeader().getName() : "Unknown";
+            Map<String, Object> archive = new HashMap<>();
+            archive.put("username", username);
+            archive.put("leader", leaderName);
+            archive.put("levelNumber", level.getNumber());
+            archive.put("description", level.getDescription());
+            archive.put("historicalChoice", level.getChoices().stream().filter(Choice::isHistorical).findFirst().map(Choice::getText).orElse(""));
+            archive.put("summary", level.getSummary());
+            archive.put("playerChoice", choice.getText());
+            archive.put("isCorrect", correct);
+            archives.add(archive);
+        }
+        return archives;
+    }
+
+    @Benchmark
+    public List<Decision> decisionRecords() {
+        List<Decision> decisions = new ArrayList<>(plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            decisions.add(new Decision(plan.level(i), (byte) choices[i], (byte) plan.historicalChoice(i), System.currentTimeMillis()));
+        }
+        return decisions;
+    }
+}
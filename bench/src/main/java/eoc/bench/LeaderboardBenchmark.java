@@ -0,0 +1,97 @@
+package eoc.bench;
+
+import com.echoesofcommand.GameMode;
+import com.echoesofcommand.Leaderboard;
+import com.echoesofcommand.PlayerManager;
+import com.echoesofcommand.PlayerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard reads and updates over synthetic player bases. {@code sortAll} is what
+ * LeaderboardController did on every opening: filter and sort every player of a mode by
+ * score, then time. The other benchmarks use the per-mode {@link Leaderboard} treap the
+ * screen reads now, and {@link PlayerManager#leaderboard} as the console game uses it.
+ *
+ * <p>PlayerManager reads players.json from the working directory; run from a directory
+ * without one so only the synthetic players are ranked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    private static final int TOP_PLAYERS = 100;
+    private static final int LEVELS = 40;
+
+    @Param({"1000", "100000", "1000000"})
+    public int players;
+
+    private List<SyntheticData.Round> rounds;
+    private Leaderboard leaderboard;
+    private PlayerManager playerManager;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rounds = SyntheticData.bestRounds(players, LEVELS, 42);
+        leaderboard = new Leaderboard();
+        playerManager = new PlayerManager();
+        for (SyntheticData.Round round : rounds) {
+            leaderboard.update(round.username(), round.score(), round.timeMillis());
+            PlayerRecord player = playerManager.login(round.username());
+            player.recordSession(round.score(), round.timeMillis(), false, false);
+            playerManager.updateRankings(player);
+        }
+    }
+
+    private SyntheticData.Round nextRound() {
+        next = (next + 1) % rounds.size();
+        return rounds.get(next);
+    }
+
+    @Benchmark
+    public List<SyntheticData.Round> sortAll() {
+        return rounds.stream()
+                .filter(round -> round.score() > 0)
+                .sorted(Comparator.comparingInt((SyntheticData.Round round) -> -round.score())
+                        .thenComparingLong(SyntheticData.Round::timeMillis))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> top() {
+        return leaderboard.top(TOP_PLAYERS);
+    }
+
+    @Benchmark
+    public int rankOf() {
+        return leaderboard.rankOf(nextRound().username());
+    }
+
+    @Benchmark
+    public void update() {
+        SyntheticData.Round round = nextRound();
+        leaderboard.update(round.username(), round.score(), round.timeMillis() - next % 1000);
+    }
+
+    @Benchmark
+    public List<PlayerRecord> playerManagerLeaderboard() {
+        return playerManager.leaderboard(GameMode.SINGLE, TOP_PLAYERS);
+    }
+}
@@ -0,0 +1,135 @@
+package eoc.bench;
+
+import com.echoesofcommand.ArchiveJournal;
+import com.echoesofcommand.ArchiveRecord;
+import com.echoesofcommand.PlayPlan;
+import com.echoesofcommand.ScenarioCatalog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eoc.ui.RoundPersistence;
+import eoc.ui.model.Decision;
+import eoc.ui.model.Leader;
+import eoc.ui.model.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Saving one finished round of {@value #LEVELS} decisions into archives that already hold
+ * {@code existingRows} entries. {@code jsonRewrite} is the former LevelController.saveArchives:
+ * read the whole archive.json, check for duplicates, append and write the whole file back.
+ * {@code roundPersistence} submits the round to {@link RoundPersistence} and waits until it is
+ * appended to the archive journal, the leader counters and the player store.
+ *
+ * <p>Each invocation saves a round of a new player, so every entry is really written and the
+ * files keep growing through the run as they do in the game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundPersistenceBenchmark {
+    private static final int LEVELS = 10;
+    private static final long FLUSH_TIMEOUT_MS = 10_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int existingRows;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Path dir;
+    private File legacyFile;
+    private RoundPersistence persistence;
+    private List<Level> levels;
+    private int round;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("eoc-bench-persistence");
+        List<ArchiveRecord> records = SyntheticData.archive(existingRows, Math.max(1, existingRows / 40), 42);
+
+        ArchiveJournal journal = ArchiveJournal.open(dir.resolve("archive.journal"), dir.resolve("archive.json"));
+        for (ArchiveRecord record : records) {
+            journal.appendIfAbsent(record);
+        }
+        journal.sync();
+        persistence = RoundPersistence.create(dir);
+
+        legacyFile = Files.createDirectories(dir.resolve("legacy")).resolve("archive.json").toFile();
+        mapper.writeValue(legacyFile, SyntheticData.legacyArchive(records));
+
+        List<Leader> leaders = ScenarioCatalog.getInstance().guiLeaders("history.json");
+        PlayPlan<Leader, Level> plan = PlayPlan.compileGui(leaders, false, null);
+        levels = new ArrayList<>();
+        for (int i = 0; i < LEVELS; i++) {
+            levels.add(plan.level(i % plan.size()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        persistence.flush(FLUSH_TIMEOUT_MS);
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean roundPersistence() {
+        String username = "bench_" + round++;
+        List<Decision> decisions = new ArrayList<>(LEVELS);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < levels.size(); i++) {
+            decisions.add(new Decision(levels.get(i), (byte) (i % 2), (byte) 0, now));
+        }
+        persistence.submit(new RoundPersistence.RoundResult(username, "SEQUENTIAL", LEVELS / 2, LEVELS,
+                "05:00", 300.0, "en", decisions));
+        return persistence.flush(FLUSH_TIMEOUT_MS);
+    }
+
+    @Benchmark
+    public int jsonRewrite() throws IOException {
+        String username = "legacy_" + round++;
+        List<Map<String, Object>> archives = mapper.readValue(legacyFile, new TypeReference<List<Map<String, Object>>>() {});
+        Set<String> keys = new HashSet<>();
+        for (Map<String, Object> entry : archives) {
+            keys.add(entry.get("username") + ":" + entry.get("leader") + ":" + entry.get("levelNumber"));
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < levels.size(); i++) {
+            Level level = levels.get(i);
+            Map<String, Object> entry = ArchiveRecord.of(username, level.getLeader().getName(), level.getNumber(), "en",
+                    i % 2, i % 2 == 0, now).resolve();
+            if (keys.add(username + ":" + entry.get("leader") + ":" + entry.get("levelNumber"))) {
+                archives.add(entry);
+            }
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(legacyFile, archives);
+        return archives.size();
+    }
+}
@@ -0,0 +1,214 @@
+package eoc.bench;
+
+import com.echoesofcommand.ArchiveRecord;
+import com.echoesofcommand.ScenarioCatalog;
+import eoc.ui.model.Choice;
+import eoc.ui.model.Leader;
+import eoc.ui.model.Level;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generators of realistic game data for the benchmarks. Archive rows refer to
+ * the real levels of both scenario catalogs, so text resolution and search behave as they do
+ * in the game; catalogs and players are synthesized at any size with the same shape as the
+ * shipped data. The same seed always yields the same data.
+ */
+public final class SyntheticData {
+    /** The catalog resources rows are drawn from, with their language codes. */
+    private static final String[][] CATALOGS = {{"history.json", "en"}, {"history-ar.json", "ar"}};
+    private static final String[] WORDS = {
+            "army", "treaty", "border", "alliance", "supply", "winter", "offensive", "retreat", "parliament",
+            "coalition", "blockade", "invasion", "ceasefire", "industry", "rationing", "propaganda", "navy",
+            "front", "conference", "resistance", "general", "minister", "election", "crisis", "reform",
+            "railway", "harbor", "colony", "referendum", "embargo", "mobilization", "armistice", "capital"};
+    private static final String[] NAME_PARTS = {
+            "commander", "strategist", "marshal", "captain", "envoy", "scout", "admiral", "cadet", "ranger", "sentinel"};
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+    private static final long NOW = 1_760_000_000_000L;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Generates distinct, realistic-looking usernames.
+     * @param count The number of usernames.
+     * @param seed The random seed.
+     * @return The usernames.
+     */
+    public static List<String> usernames(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(NAME_PARTS[random.nextInt(NAME_PARTS.length)] + "_" + i);
+        }
+        return names;
+    }
+
+    /**
+     * Generates archive rows spread over a set of players. About a third of the rows are in
+     * Arabic, players get roughly 60% of decisions right, and timestamps cover the last year.
+     * @param rows The number of rows.
+     * @param users The number of distinct players.
+     * @param seed The random seed.
+     * @return The rows, in the order a journal would hold them.
+     */
+    public static List<ArchiveRecord> archive(int rows, int users, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> names = usernames(users, seed);
+        List<List<Level>> levels = new ArrayList<>();
+        for (String[] catalog : CATALOGS) {
+            levels.add(levelsOf(catalog[0]));
+        }
+        List<ArchiveRecord> records = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int catalog = random.nextInt(3) == 0 ? 1 : 0;
+            List<Level> pool = levels.get(catalog);
+            Level level = pool.get(random.nextInt(pool.size()));
+            int historical = historicalIndex(level);
+            int choice = random.nextInt(10) < 6 ? historical : (historical + 1) % level.getChoices().size();
+            records.add(ArchiveRecord.of(names.get(random.nextInt(users)), level.getLeader().getName(), level.getNumber(),
+                    CATALOGS[catalog][1], choice, choice == historical, NOW - random.nextLong(YEAR_MILLIS)));
+        }
+        return records;
+    }
+
+    /**
+     * Expands rows into the former archive layout, which copied the level's text into every entry.
+     * @param records The rows.
+     * @return One map per row.
+     */
+    public static List<Map<String, Object>> legacyArchive(List<ArchiveRecord> records) {
+        List<Map<String, Object>> entries = new ArrayList<>(records.size());
+        for (ArchiveRecord record : records) {
+            Map<String, Object> entry = record.resolve();
+            entry.remove("language");
+            entry.remove("timestamp");
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Generates search queries as players type them: a word or the start of one, taken from
+     * leader names and scenario text, sometimes followed by a second word.
+     * @param count The number of queries.
+     * @param seed The random seed.
+     * @return The queries, in lower case.
+     */
+    public static List<String> queries(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> vocabulary = new ArrayList<>();
+        for (Level level : levelsOf("history.json")) {
+            for (String word : (level.getLeader().getName() + " " + level.getDescription()).toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= 4) vocabulary.add(word);
+            }
+        }
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String word = vocabulary.get(random.nextInt(vocabulary.size()));
+            String query = word.substring(0, 3 + random.nextInt(word.length() - 2));
+            if (random.nextInt(4) == 0) {
+                query += " " + vocabulary.get(random.nextInt(vocabulary.size()));
+            }
+            queries.add(query);
+        }
+        return queries;
+    }
+
+    /**
+     * Generates a scenario catalog in the layout of history.json.
+     * @param leaders The number of leaders.
+     * @param levelsPerLeader The number of levels of each leader.
+     * @param seed The random seed.
+     * @return The leaders, ready to be written as JSON.
+     */
+    public static List<Map<String, Object>> catalog(int leaders, int levelsPerLeader, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Map<String, Object>> catalog = new ArrayList<>(leaders);
+        for (int l = 0; l < leaders; l++) {
+            List<Map<String, Object>> levels = new ArrayList<>(levelsPerLeader);
+            for (int n = 1; n <= levelsPerLeader; n++) {
+                int historical = random.nextInt(2);
+                List<Map<String, Object>> choices = new ArrayList<>(2);
+                for (int c = 0; c < 2; c++) {
+                    Map<String, Object> choice = new LinkedHashMap<>();
+                    choice.put("text", sentence(random, 8, 16));
+                    choice.put("isHistorical", c == historical);
+                    choices.add(choice);
+                }
+                Map<String, Object> level = new LinkedHashMap<>();
+                level.put("number", n);
+                level.put("description", sentence(random, 40, 80));
+                level.put("choices", choices);
+                level.put("summary", sentence(random, 30, 60));
+                levels.add(level);
+            }
+            Map<String, Object> leader = new LinkedHashMap<>();
+            leader.put("name", "Leader " + l);
+            leader.put("backstory", sentence(random, 60, 120));
+            leader.put("levels", levels);
+            catalog.add(leader);
+        }
+        return catalog;
+    }
+
+    /**
+     * A player's best round in one mode.
+     * @param username The player.
+     * @param score The number of correct decisions.
+     * @param timeMillis How long the round took.
+     */
+    public record Round(String username, int score, long timeMillis) {
+    }
+
+    /**
+     * Generates best rounds for a leaderboard: scores cluster around 60% of the levels,
+     * so many players tie on score and are ordered by time.
+     * @param players The number of players.
+     * @param levels The number of levels in a round.
+     * @param seed The random seed.
+     * @return One round per player.
+     */
+    public static List<Round> bestRounds(int players, int levels, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> names = usernames(players, seed);
+        List<Round> rounds = new ArrayList<>(players);
+        for (String name : names) {
+            int score = (int) Math.max(1, Math.min(levels, Math.round(levels * 0.6 + random.nextGaussian() * levels * 0.15)));
+            long timeMillis = 60_000 + random.nextLong(levels * 30_000L);
+            rounds.add(new Round(name, score, timeMillis));
+        }
+        return rounds;
+    }
+
+    static List<Level> levelsOf(String resource) {
+        List<Level> levels = new ArrayList<>();
+        for (Leader leader : ScenarioCatalog.getInstance().guiLeaders(resource)) {
+            levels.addAll(leader.getLevels());
+        }
+        return levels;
+    }
+
+    private static int historicalIndex(Level level) {
+        List<Choice> choices = level.getChoices();
+        for (int i = 0; i < choices.size(); i++) {
+            if (choices.get(i).isHistorical()) return i;
+        }
+        return 0;
+    }
+
+    private static String sentence(SplittableRandom random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.append('.').toString();
+    }
+}
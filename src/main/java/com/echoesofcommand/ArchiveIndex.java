@@ -0,0 +1,305 @@
+package com.echoesofcommand;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Inverted word index over archive entries, partitioned by username.
+ * Every word of the indexed text fields maps to the sorted ids of the entries containing it,
+ * so a search only touches the postings of the words it matches instead of every entry.
+ * Entries are indexed as they are added; ids are assigned in insertion order, which keeps
+ * each posting list sorted without extra work.
+ *
+ * <p>A query is split into words; an entry matches when, for every query word, one of its
+ * words contains it, as the plain substring search did (so "napo" finds "Napoleon" while
+ * the user is still typing, and "حرب" finds "الحرب" with its attached article). Substrings
+ * are found through a sorted map of the suffixes of every distinct word; the vocabulary
+ * comes from the scenario catalog and stays small, so this costs little next to the postings.
+ * @param <E> The entry type.
+ */
+public final class ArchiveIndex<E> {
+    private static final String ALL_USERS = "";
+
+    private final List<Function<E, String>> fields;
+    private final ConcurrentMap<String, Partition<E>> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty index.
+     * @param fields Extracts the text fields to index from an entry; null values are skipped.
+     */
+    public ArchiveIndex(List<Function<E, String>> fields) {
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * Creates an index over the text of journal records (leader, description,
+     * historicalChoice, playerChoice, summary), resolved from the scenario catalog.
+     * @return An empty index for journal records.
+     */
+    public static ArchiveIndex<ArchiveRecord> forRecords() {
+        return new ArchiveIndex<>(List.of(
+                ArchiveRecord::leader,
+                ArchiveRecord::description,
+                ArchiveRecord::historicalChoice,
+                ArchiveRecord::playerChoice,
+                ArchiveRecord::summary));
+    }
+
+    /**
+     * Adds an entry to a user's partition.
+     * @param username The owner of the entry.
+     * @param entry The entry.
+     */
+    public void add(String username, E entry) {
+        List<String> words = new ArrayList<>();
+        for (Function<E, String> field : fields) {
+            tokenize(field.apply(entry), words);
+        }
+        partitions.computeIfAbsent(keyOf(username), key -> new Partition<>()).add(entry, words);
+    }
+
+    /**
+     * Gets every entry of a user, in insertion order.
+     * @param username The user.
+     * @return A snapshot of the user's entries.
+     */
+    public List<E> entries(String username) {
+        Partition<E> partition = partitions.get(keyOf(username));
+        return partition != null ? partition.entries() : List.of();
+    }
+
+    /**
+     * Searches a user's entries.
+     * @param username The user.
+     * @param query One or more words; a blank query matches every entry.
+     * @return The matching entries, in insertion order.
+     */
+    public List<E> search(String username, String query) {
+        return find(username, query, null).entries();
+    }
+
+    /**
+     * Searches a user's entries, refining an earlier result when possible. When the new query
+     * only extends the previous one (words typed further or appended) and nothing was added
+     * to the user's partition since, the previous matches are narrowed by the changed words
+     * alone instead of evaluating the whole query again.
+     * @param username The user.
+     * @param query One or more words; a blank query matches every entry.
+     * @param previous An earlier result to refine, or null.
+     * @return The matches.
+     */
+    public Hits<E> find(String username, String query, Hits<E> previous) {
+        String key = keyOf(username);
+        List<String> words = tokenize(query, new ArrayList<>());
+        Partition<E> partition = partitions.get(key);
+        if (partition == null) {
+            return new Hits<>(key, words, new BitSet(), 0, List.of());
+        }
+        return partition.find(key, words, previous != null && previous.username.equals(key) ? previous : null);
+    }
+
+    /**
+     * Searches the entries of every user.
+     * @param query One or more words; a blank query matches every entry.
+     * @return The matching entries, grouped by user.
+     */
+    public List<E> searchAll(String query) {
+        List<E> results = new ArrayList<>();
+        for (String username : partitions.keySet()) {
+            results.addAll(search(username, query));
+        }
+        return results;
+    }
+
+    /**
+     * Gets the number of indexed entries across all users.
+     * @return The entry count.
+     */
+    public int size() {
+        int size = 0;
+        for (Partition<E> partition : partitions.values()) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    static List<String> tokenize(String text, List<String> into) {
+        if (text == null) {
+            return into;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                into.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return into;
+    }
+
+    private static String keyOf(String username) {
+        return username != null ? username.toLowerCase(Locale.ROOT) : ALL_USERS;
+    }
+
+    /**
+     * One user's entries and their postings. Guarded by its own monitor so appends for one
+     * user never block searches of another.
+     */
+    private static final class Partition<E> {
+        private final List<E> entries = new ArrayList<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+        // Every suffix of every distinct word, mapped to the words that end with it
+        private final TreeMap<String, List<String>> suffixes = new TreeMap<>();
+
+        synchronized void add(E entry, List<String> words) {
+            int id = entries.size();
+            entries.add(entry);
+            for (String word : words) {
+                Postings list = postings.get(word);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(word, list);
+                    addSuffixes(word);
+                }
+                list.add(id);
+            }
+        }
+
+        private void addSuffixes(String word) {
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.isLowSurrogate(word.charAt(i))) continue;
+                suffixes.computeIfAbsent(word.substring(i), s -> new ArrayList<>(1)).add(word);
+            }
+        }
+
+        synchronized List<E> entries() {
+            return new ArrayList<>(entries);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized Hits<E> find(String username, List<String> words, Hits<E> previous) {
+            BitSet matches = new BitSet(entries.size());
+            List<String> remaining = words;
+            if (previous != null && previous.indexedCount == entries.size() && extendsQuery(words, previous.words)) {
+                matches.or(previous.ids);
+                // Only words that differ from the previous query can narrow the result further
+                remaining = new ArrayList<>();
+                for (int i = 0; i < words.size(); i++) {
+                    if (i >= previous.words.size() || !words.get(i).equals(previous.words.get(i))) {
+                        remaining.add(words.get(i));
+                    }
+                }
+            } else {
+                matches.set(0, entries.size());
+            }
+            for (String word : remaining) {
+                if (matches.isEmpty()) break;
+                matches.and(substringMatches(word));
+            }
+            List<E> results = new ArrayList<>(matches.cardinality());
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                results.add(entries.get(id));
+            }
+            return new Hits<>(username, List.copyOf(words), matches, entries.size(), results);
+        }
+
+        private static boolean extendsQuery(List<String> words, List<String> previousWords) {
+            if (words.size() < previousWords.size()) {
+                return false;
+            }
+            for (int i = 0; i < previousWords.size(); i++) {
+                if (!words.get(i).startsWith(previousWords.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private BitSet substringMatches(String part) {
+            BitSet ids = new BitSet();
+            // A word contains part exactly when one of its suffixes starts with it
+            for (List<String> words : suffixes.subMap(part, true, part + Character.MAX_VALUE, false).values()) {
+                for (String word : words) {
+                    postings.get(word).addTo(ids);
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * The result of {@link #find}: the matching entries plus what is needed to refine them.
+     * @param <E> The entry type.
+     */
+    public static final class Hits<E> {
+        private final String username;
+        private final List<String> words;
+        private final BitSet ids;
+        private final int indexedCount;
+        private final List<E> entries;
+
+        private Hits(String username, List<String> words, BitSet ids, int indexedCount, List<E> entries) {
+            this.username = username;
+            this.words = words;
+            this.ids = ids;
+            this.indexedCount = indexedCount;
+            this.entries = entries;
+        }
+
+        /**
+         * Gets the matching entries, in insertion order.
+         * @return The entries.
+         */
+        public List<E> entries() {
+            return entries;
+        }
+
+        /**
+         * Gets the number of matching entries.
+         * @return The match count.
+         */
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Growable, sorted, duplicate-free list of entry ids.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int count;
+
+        void add(int id) {
+            if (count > 0 && ids[count - 1] == id) {
+                return;
+            }
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+
+        void addTo(BitSet set) {
+            for (int i = 0; i < count; i++) {
+                set.set(ids[i]);
+            }
+        }
+    }
+}
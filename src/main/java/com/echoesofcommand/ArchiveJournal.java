@@ -0,0 +1,603 @@
+package com.echoesofcommand;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only archive log. Each entry is stored as one record:
+ * <pre>
+ * int length | int crc32(payload) | payload
+ * </pre>
+ * The payload is an {@link ArchiveRecord} reference in binary form (see
+ * {@link ArchiveRecord#encode()}). Journals written before that hold UTF-8 JSON objects
+ * with the level's text; those are still read, and on open a compaction is started that
+ * rewrites them as references.
+ * Recording a decision is a single small sequential write instead of a rewrite of the
+ * whole archive. On open the log is scanned and a final record that runs to the end of the
+ * file without being intact (a torn write from a crash) is truncated away.
+ *
+ * <p>A damaged record anywhere else is corruption, not a torn write: the scan skips ahead to
+ * the next intact record so nothing after it is lost, and the damaged file is kept as
+ * {@code <file>.corrupt} for inspection. The active file is then rewritten from its intact
+ * records; a damaged snapshot or segment is set aside when the next compaction replaces it.
+ *
+ * <p>The log is kept bounded by background compaction. Once the active file grows past
+ * {@link #COMPACTION_THRESHOLD_BYTES} it is sealed as a numbered segment
+ * ({@code archive.journal.N}) and a fresh active file is started; a low-priority daemon
+ * thread then folds the previous snapshot and the sealed segments into a new
+ * {@code archive.journal.snapshot}, sorted and deduplicated by "username:leader:levelNumber"
+ * (first entry wins), and deletes the segments. Readers see snapshot + segments + active tail.
+ */
+public final class ArchiveJournal implements Closeable {
+    /** Active file size that triggers a background compaction. */
+    public static final long COMPACTION_THRESHOLD_BYTES = 1L << 20;
+
+    private static final ConcurrentMap<Path, ArchiveJournal> OPEN = new ConcurrentHashMap<>();
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive-compactor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path file;
+    private final Path snapshotFile;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Set<String> keys = new HashSet<>();
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private ArchiveIndex<ArchiveRecord> index;
+    private CompletableFuture<Void> compaction;
+    private FileChannel channel;
+    private long size;
+    private long recordCount;
+    private long compactions;
+    private long convertibleRecords;
+    private long unsyncedRecords;
+    private long unsyncedBytes;
+
+    private ArchiveJournal(Path file) throws IOException {
+        this.file = file;
+        this.snapshotFile = sibling(".snapshot");
+        Path dir = file.getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Files.deleteIfExists(sibling(".snapshot.tmp"));
+        findSegments();
+
+        RecordVisitor loadKey = payload -> {
+            ArchiveRecord entry = parse(payload);
+            String key = entry.key();
+            if (key != null) keys.add(key);
+            // JSON entries that match the catalog still wait to be rewritten as references
+            if (!ArchiveRecord.isReference(payload) && !entry.isLegacy()) convertibleRecords++;
+            recordCount++;
+        };
+        if (Files.exists(snapshotFile)) {
+            scanFile(snapshotFile, loadKey);
+        }
+        for (Path segment : segments.values()) {
+            scanFile(segment, loadKey);
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        Scan scanned = scan(channel, fileSize, loadKey);
+        this.size = scanned.end();
+        if (scanned.corrupt()) {
+            rewriteCorruptActive(scanned);
+        } else if (size < fileSize) {
+            channel.truncate(size);
+            channel.force(true);
+            System.err.println("Warning: Dropped " + (fileSize - size) + " torn bytes from the end of " + file);
+        }
+    }
+
+    /**
+     * Opens the journal at a path, sharing one instance per file across the process.
+     * When the journal does not exist yet, entries from a legacy JSON archive are imported once.
+     * @param file The journal file.
+     * @param legacyJson A legacy archive.json to migrate from, or null.
+     * @return The open journal.
+     * @throws UncheckedIOException If the journal cannot be opened.
+     */
+    public static ArchiveJournal open(Path file, Path legacyJson) {
+        return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), path -> {
+            try {
+                boolean fresh = !Files.exists(path) && !Files.exists(path.resolveSibling(path.getFileName() + ".snapshot"));
+                ArchiveJournal journal = new ArchiveJournal(path);
+                if (fresh && legacyJson != null && Files.exists(legacyJson)) {
+                    journal.importLegacy(legacyJson);
+                }
+                if (journal.convertibleRecords > 0) {
+                    System.out.println("Migrating " + journal.convertibleRecords + " archive entries in " + path.getFileName() + " to level references");
+                    journal.compactAsync();
+                }
+                journal.maybeCompact();
+                return journal;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open archive journal " + path, e);
+            }
+        });
+    }
+
+    /**
+     * Checks whether an entry with the given key has been appended.
+     * @param key The key, as built by {@link ArchiveRecord#key()}.
+     * @return True if the journal holds an entry with that key.
+     */
+    public synchronized boolean containsKey(String key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Appends an entry unconditionally.
+     * @param entry The archive entry.
+     * @throws IOException If the write fails.
+     */
+    public synchronized void append(ArchiveRecord entry) throws IOException {
+        write(entry);
+        String key = entry.key();
+        if (key != null) keys.add(key);
+    }
+
+    /**
+     * Appends an entry unless one with the same key is already in the journal.
+     * @param entry The archive entry.
+     * @return True if the entry was written, false if it was a duplicate or had no key.
+     * @throws IOException If the write fails.
+     */
+    public synchronized boolean appendIfAbsent(ArchiveRecord entry) throws IOException {
+        String key = entry.key();
+        if (key == null || keys.contains(key)) {
+            return false;
+        }
+        write(entry);
+        keys.add(key);
+        return true;
+    }
+
+    /**
+     * Forces appended records to the storage device.
+     * @throws IOException If the sync fails.
+     */
+    public synchronized void sync() throws IOException {
+        long start = System.nanoTime();
+        GameEvents.ArchiveSave event = new GameEvents.ArchiveSave();
+        event.begin();
+        channel.force(false);
+        Metrics.getInstance().histogram("persistence.write", "target", "archive.sync").recordSince(start);
+        if (event.shouldCommit()) {
+            event.operation = "sync";
+            event.file = file.toString();
+            event.records = unsyncedRecords;
+            event.bytesWritten = unsyncedBytes;
+            event.commit();
+        }
+        unsyncedRecords = 0;
+        unsyncedBytes = 0;
+    }
+
+    /**
+     * Reads every entry: the latest snapshot (sorted by key), then sealed segments and the
+     * active tail in append order.
+     * @return The entries.
+     * @throws IOException If the journal cannot be read.
+     */
+    public List<ArchiveRecord> readAll() throws IOException {
+        List<FileChannel> readers = new ArrayList<>();
+        List<Long> ends = new ArrayList<>();
+        try {
+            // Open every file under the lock so a concurrent compaction cannot swap them mid-read
+            synchronized (this) {
+                List<Path> files = new ArrayList<>();
+                if (Files.exists(snapshotFile)) files.add(snapshotFile);
+                files.addAll(segments.values());
+                for (Path path : files) {
+                    FileChannel reader = FileChannel.open(path, StandardOpenOption.READ);
+                    readers.add(reader);
+                    ends.add(reader.size());
+                }
+                readers.add(FileChannel.open(file, StandardOpenOption.READ));
+                ends.add(size);
+            }
+            List<ArchiveRecord> entries = new ArrayList<>();
+            for (int i = 0; i < readers.size(); i++) {
+                scan(readers.get(i), ends.get(i), payload -> entries.add(parse(payload)));
+            }
+            return entries;
+        } finally {
+            for (FileChannel reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the search index over every entry, building it from the journal on first use.
+     * Entries appended afterwards are added to the index as they are written.
+     * @return The shared index, partitioned by username.
+     * @throws IOException If the journal cannot be read.
+     */
+    public synchronized ArchiveIndex<ArchiveRecord> index() throws IOException {
+        if (index == null) {
+            ArchiveIndex<ArchiveRecord> built = ArchiveIndex.forRecords();
+            for (ArchiveRecord entry : readAll()) {
+                built.add(entry.username(), entry);
+            }
+            index = built;
+        }
+        return index;
+    }
+
+    /**
+     * Schedules a compaction on the background compactor thread. The caller never waits for
+     * the merge itself; appends only pause for the brief rotation and swap steps.
+     * @return A future completed when the compaction finishes; if one is already running, its future.
+     */
+    public synchronized CompletableFuture<Void> compactAsync() {
+        if (compaction != null && !compaction.isDone()) {
+            return compaction;
+        }
+        compaction = CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                compact();
+                Metrics.getInstance().histogram("persistence.write", "target", "archive.compaction").recordSince(start);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Archive compaction failed for " + file + ": " + e.getMessage());
+            }
+        }, COMPACTOR);
+        return compaction;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long getSizeBytes() {
+        return size;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getCompactionCount() {
+        return compactions;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        OPEN.remove(file, this);
+        channel.close();
+    }
+
+    private void write(ArchiveRecord entry) throws IOException {
+        byte[] payload = entry.isLegacy() ? mapper.writeValueAsBytes(entry.legacy()) : entry.encode();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt(crc(payload)).put(payload).flip();
+        long position = size;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        unsyncedBytes += position - size;
+        unsyncedRecords++;
+        size = position;
+        recordCount++;
+        if (index != null) {
+            index.add(entry.username(), entry);
+        }
+        maybeCompact();
+    }
+
+    private void maybeCompact() {
+        if (size >= COMPACTION_THRESHOLD_BYTES || !segments.isEmpty()) {
+            compactAsync();
+        }
+    }
+
+    private void compact() throws IOException {
+        GameEvents.ArchiveSave event = new GameEvents.ArchiveSave();
+        event.begin();
+        List<Path> sealed;
+        synchronized (this) {
+            if (size > 0) rotate();
+            sealed = new ArrayList<>(segments.values());
+        }
+        if (sealed.isEmpty()) return;
+
+        // Merge outside the lock: appends continue into the fresh active file meanwhile.
+        // Legacy JSON entries that match the catalog are rewritten as references on the way.
+        TreeMap<String, byte[]> merged = new TreeMap<>();
+        long[] consumed = new long[1];
+        long[] converted = new long[1];
+        RecordVisitor fold = payload -> {
+            ArchiveRecord entry = parse(payload);
+            String key = entry.key() != null ? entry.key() : "\uffff" + consumed[0];
+            if (!merged.containsKey(key)) {
+                boolean convert = !ArchiveRecord.isReference(payload) && !entry.isLegacy();
+                merged.put(key, convert ? entry.encode() : payload);
+                if (convert) converted[0]++;
+            }
+            consumed[0]++;
+        };
+        boolean snapshotCorrupt = Files.exists(snapshotFile) && scanFile(snapshotFile, fold).corrupt();
+        List<Path> corruptSegments = new ArrayList<>();
+        for (Path segment : sealed) {
+            if (scanFile(segment, fold).corrupt()) corruptSegments.add(segment);
+        }
+
+        Path tmp = sibling(".snapshot.tmp");
+        long written = 0;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (byte[] payload : merged.values()) {
+                ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+                record.putInt(payload.length).putInt(crc(payload)).put(payload).flip();
+                while (record.hasRemaining()) {
+                    written += out.write(record);
+                }
+            }
+            out.force(true);
+        }
+
+        synchronized (this) {
+            // Damaged files are set aside rather than deleted; their intact records are in the new snapshot
+            if (snapshotCorrupt) {
+                Path aside = corruptPath(snapshotFile);
+                Files.copy(snapshotFile, aside);
+                System.err.println("Warning: Kept damaged archive snapshot as " + aside);
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path segment : sealed) {
+                if (corruptSegments.contains(segment)) {
+                    Path aside = corruptPath(segment);
+                    Files.move(segment, aside);
+                    System.err.println("Warning: Kept damaged archive segment as " + aside);
+                } else {
+                    Files.deleteIfExists(segment);
+                }
+                segments.values().remove(segment);
+            }
+            recordCount += merged.size() - consumed[0];
+            convertibleRecords = 0;
+            compactions++;
+        }
+        if (event.shouldCommit()) {
+            event.operation = "compaction";
+            event.file = snapshotFile.toString();
+            event.records = merged.size();
+            event.bytesWritten = written;
+            event.commit();
+        }
+        System.out.println("Compacted archive journal " + file.getFileName() + ": " + consumed[0]
+                + " records -> " + merged.size() + " in snapshot"
+                + (converted[0] > 0 ? ", " + converted[0] + " converted to level references" : ""));
+    }
+
+    /**
+     * Seals the active file as the next numbered segment and starts a new, empty active file.
+     */
+    private void rotate() throws IOException {
+        channel.force(true);
+        channel.close();
+        long sequence = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path segment = sibling("." + sequence);
+        Files.move(file, segment, StandardCopyOption.ATOMIC_MOVE);
+        segments.put(sequence, segment);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = 0;
+    }
+
+    private void findSegments() throws IOException {
+        Path dir = file.getParent() != null ? file.getParent() : Path.of(".");
+        String prefix = file.getFileName() + ".";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, file.getFileName() + ".*")) {
+            for (Path path : stream) {
+                String suffix = path.getFileName().toString().substring(prefix.length());
+                if (suffix.chars().allMatch(Character::isDigit) && !suffix.isEmpty()) {
+                    segments.put(Long.parseLong(suffix), path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a damaged active file aside and starts a new one holding only its intact records.
+     */
+    private void rewriteCorruptActive(Scan scanned) throws IOException {
+        channel.close();
+        Path aside = corruptPath(file);
+        Files.move(file, aside);
+        System.err.println("Warning: " + file + " is corrupt: skipped " + scanned.skippedBytes()
+                + " damaged bytes" + (scanned.damagedTail() ? " and a damaged tail" : "")
+                + "; kept the original as " + aside + " and rewrote the intact records");
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long[] position = new long[1];
+        try (FileChannel reader = FileChannel.open(aside, StandardOpenOption.READ)) {
+            scan(reader, reader.size(), payload -> {
+                ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+                record.putInt(payload.length).putInt(crc(payload)).put(payload).flip();
+                while (record.hasRemaining()) {
+                    position[0] += channel.write(record, position[0]);
+                }
+            });
+        }
+        channel.force(true);
+        size = position[0];
+    }
+
+    private Path sibling(String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    /**
+     * @return An unused "{@code <path>.corrupt}" name to keep a damaged file under.
+     */
+    private static Path corruptPath(Path path) {
+        Path target = path.resolveSibling(path.getFileName() + ".corrupt");
+        for (int n = 1; Files.exists(target); n++) {
+            target = path.resolveSibling(path.getFileName() + ".corrupt." + n);
+        }
+        return target;
+    }
+
+    private void importLegacy(Path legacyJson) throws IOException {
+        List<Map<String, Object>> legacy;
+        try (InputStream input = Files.newInputStream(legacyJson)) {
+            legacy = mapper.readValue(input, new TypeReference<List<Map<String, Object>>>() {});
+        }
+        if (legacy == null) return;
+        for (Map<String, Object> entry : legacy) {
+            append(ArchiveRecord.fromLegacy(entry));
+        }
+        sync();
+        System.out.println("Migrated " + legacy.size() + " archive entries from " + legacyJson + " to " + file);
+    }
+
+    private ArchiveRecord parse(byte[] payload) {
+        if (ArchiveRecord.isReference(payload)) {
+            return ArchiveRecord.decode(payload);
+        }
+        try {
+            return ArchiveRecord.fromLegacy(mapper.readValue(payload, new TypeReference<Map<String, Object>>() {}));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Scan scanFile(Path path, RecordVisitor visitor) throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            Scan scanned = scan(reader, reader.size(), visitor);
+            if (scanned.corrupt()) {
+                System.err.println("Warning: " + path + " is corrupt: skipped " + scanned.skippedBytes()
+                        + " damaged bytes" + (scanned.damagedTail() ? " and a damaged tail" : "")
+                        + "; its intact records are still read");
+            }
+            return scanned;
+        }
+    }
+
+    /**
+     * Visits every intact record up to {@code end}. A damaged record is skipped by searching
+     * forward for the next intact one; if there is none, the scan ends there and the damaged
+     * tail is either a torn write or corruption.
+     * @return Where the last intact record ends and how many damaged bytes were skipped.
+     */
+    static Scan scan(FileChannel channel, long end, RecordVisitor visitor) throws IOException {
+        long position = 0;
+        long skipped = 0;
+        boolean damagedTail = false;
+        while (position < end) {
+            byte[] payload = readRecord(channel, position, end);
+            if (payload != null) {
+                visitor.visit(payload);
+                position += HEADER_BYTES + payload.length;
+                continue;
+            }
+            long next = position + 1;
+            while (next < end && readRecord(channel, next, end) == null) {
+                next++;
+            }
+            if (next == end) {
+                damagedTail = !isTornTail(channel, position, end);
+                break;
+            }
+            skipped += next - position;
+            position = next;
+        }
+        return new Scan(position, skipped, damagedTail);
+    }
+
+    /**
+     * @return The payload of the intact record at {@code position}, or null if there is none.
+     */
+    private static byte[] readRecord(FileChannel channel, long position, long end) throws IOException {
+        if (position + HEADER_BYTES > end) return null;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (!readFully(channel, header, position)) return null;
+        int length = header.getInt(0);
+        if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > end) return null;
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(channel, payload, position + HEADER_BYTES)) return null;
+        return crc(payload.array()) == header.getInt(4) ? payload.array() : null;
+    }
+
+    /**
+     * Checks whether the damaged record at {@code position} is an interrupted final write:
+     * its header is cut short, the length it declares reaches {@code end}, or the rest of the
+     * file is zeros.
+     */
+    private static boolean isTornTail(FileChannel channel, long position, long end) throws IOException {
+        if (position + HEADER_BYTES > end) return true;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (!readFully(channel, header, position)) return true;
+        int length = header.getInt(0);
+        if (length > 0 && length <= MAX_RECORD_BYTES && position + HEADER_BYTES + length >= end) return true;
+        ByteBuffer rest = ByteBuffer.allocate(8192);
+        for (long offset = position; offset < end; offset += rest.limit()) {
+            rest.clear().limit((int) Math.min(rest.capacity(), end - offset));
+            if (!readFully(channel, rest, offset)) return true;
+            for (int i = 0; i < rest.limit(); i++) {
+                if (rest.get(i) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) return false;
+        }
+        return true;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * The outcome of a {@link #scan}.
+     * @param end The offset just past the last intact record.
+     * @param skippedBytes Damaged bytes skipped between intact records.
+     * @param damagedTail True if the scan ended at damaged bytes that are not a torn write.
+     */
+    record Scan(long end, long skippedBytes, boolean damagedTail) {
+        boolean corrupt() {
+            return skippedBytes > 0 || damagedTail;
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(byte[] payload) throws IOException;
+    }
+}
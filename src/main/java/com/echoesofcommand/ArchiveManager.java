@@ -1,110 +1,142 @@
 package com.echoesofcommand;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-import java.io.*;
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Manages the game archive, storing and searching level entries.
+ * Entries are kept as {@link ArchiveRecord} references into the scenario catalog, and
+ * searches go through an {@link ArchiveIndex} kept up to date as entries are added.
  */
 public class ArchiveManager {
-    private List<ArchiveEntry> archive = new ArrayList<>();
+    private final ArchiveIndex<ArchiveRecord> archive = ArchiveIndex.forRecords();
+    private final Set<String> archivedKeys = new HashSet<>();
     private static final String ARCHIVE_FILE = "archive.json";
+    private static final Path JOURNAL_FILE = Paths.get("archive.journal");
+    private static final Path LEADER_STATS_FILE = Paths.get("leader-stats.bin");
+    private final ArchiveJournal journal = openJournal();
+    private final LeaderStats leaderStats = openLeaderStats(journal);
 
     /**
-     * Adds a new entry to the archive with the player's choice and correctness.
+     * Adds a new entry to the archive with the player's choice and correctness,
+     * appending it to the archive journal as a single record and updating the
+     * player's per-leader counters. A replayed level keeps its first entry.
+     * @param username The player's username.
+     * @param language The language of the scenario resource the level was loaded from.
      * @param leader The leader's name.
      * @param level The level to archive.
      * @param playerChoice The player's chosen option (text of the choice).
      * @param isCorrect Whether the player's choice was correct.
      */
-    public void addEntry(String leader, Level level, String playerChoice, boolean isCorrect) {
-        String histChoice = level.getChoices().stream()
-                .filter(Choice::isHistorical)
-                .findFirst()
-                .map(Choice::getText)
-                .orElse("");
-        archive.add(new ArchiveEntry(leader, level.getNumber(), level.getDescription(), histChoice, level.getSummary(), playerChoice, isCorrect));
+    public void addEntry(String username, String language, String leader, Level level, String playerChoice, boolean isCorrect) {
+        int choice = playerChoice == null || playerChoice.isEmpty()
+                ? -1 : ArchiveRecord.choiceIndexOf(language, leader, level.getNumber(), playerChoice);
+        ArchiveRecord record = ArchiveRecord.of(username, leader, level.getNumber(), language, choice, isCorrect, System.currentTimeMillis());
+        String key = record.key();
+        if (key == null || archivedKeys.add(key)) {
+            archive.add(username, record);
+        }
+        if (journal == null) {
+            if (leaderStats != null) {
+                leaderStats.record(username, leader, isCorrect, true, System.currentTimeMillis());
+            }
+            return;
+        }
+        boolean newLevel = false;
+        try {
+            newLevel = journal.appendIfAbsent(record);
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to save archive entry: " + e.getMessage());
+        }
+        if (leaderStats != null) {
+            leaderStats.record(username, leader, isCorrect, newLevel, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Gets a player's per-leader counters without scanning the archive.
+     * @param username The player's username.
+     * @return The counters per leader, sorted by leader name.
+     */
+    public Map<String, LeaderStats.Counters> getLeaderStats(String username) {
+        return leaderStats != null ? leaderStats.forUser(username) : Map.of();
     }
 
     /**
-     * Saves the archive to a JSON file.
+     * Forces the entries appended so far to disk.
      */
-    public void saveToJson() {
-        try (Writer writer = new FileWriter(ARCHIVE_FILE)) {
-            new Gson().toJson(archive, writer);
+    public void flush() {
+        try {
+            if (journal != null) {
+                journal.sync();
+            }
+            if (leaderStats != null) {
+                leaderStats.flush();
+            }
         } catch (IOException e) {
             System.err.println("Warning: Failed to save archive: " + e.getMessage());
         }
     }
 
+    private static LeaderStats openLeaderStats(ArchiveJournal seedFrom) {
+        try {
+            return LeaderStats.open(LEADER_STATS_FILE, seedFrom);
+        } catch (UncheckedIOException e) {
+            System.err.println("Warning: Leader statistics will not be saved: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ArchiveJournal openJournal() {
+        try {
+            return ArchiveJournal.open(JOURNAL_FILE, Paths.get(ARCHIVE_FILE));
+        } catch (UncheckedIOException e) {
+            System.err.println("Warning: Archive will not be saved: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
-     * Prompts the user to search the archive using the provided UI.
+     * Prompts the user to search their own archive entries using the provided UI.
      * @param ui The GameUI instance for user interaction.
+     * @param username The player whose entries are searched; other players' entries are never shown.
      */
-    public void promptSearch(GameUI ui) {
-        if (archive.isEmpty()) {
-            System.out.println("[Your archive is empty. Complete levels to build your archive!]");
+    public void promptSearch(GameUI ui, String username) {
+        if (archive.entries(username).isEmpty()) {
+            ui.displayMessage("[Your archive is empty. Complete levels to build your archive!]");
             return;
         }
         if (!ui.promptArchiveSearch()) {
             return;
         }
-        String keyword = ui.promptSearchKeyword().toLowerCase();
-        List<ArchiveEntry> results = archive.stream()
-                .filter(e -> e.description.toLowerCase().contains(keyword)
-                        || e.leader.toLowerCase().contains(keyword)
-                        || e.summary.toLowerCase().contains(keyword))
-                .collect(Collectors.toList());
+        String keyword = ui.promptSearchKeyword();
+        long start = System.nanoTime();
+        GameEvents.SearchQuery event = new GameEvents.SearchQuery();
+        event.begin();
+        List<ArchiveRecord> results = archive.search(username, keyword);
+        Metrics.getInstance().histogram("archive.search").recordSince(start);
+        if (event.shouldCommit()) {
+            event.usernameHash = GameEvents.hashUsername(username);
+            event.keywordLength = keyword.length();
+            event.hits = results.size();
+            event.commit();
+        }
         if (results.isEmpty()) {
-            System.out.println("[No results found. Try a different keyword or play more levels.]");
+            ui.displayMessage("[No results found. Try a different keyword or play more levels.]");
             return;
         }
-        System.out.println("\n=== Archive Search Results ===");
-        for (ArchiveEntry entry : results) {
-            System.out.println("Leader: " + entry.leader);
-            System.out.println("Level " + entry.levelNumber + ": " + entry.description);
-            System.out.println("Your Choice: " + (entry.playerChoice.isEmpty() ? "Skipped" : entry.playerChoice));
-            System.out.println("Result: " + (entry.playerChoice.isEmpty() ? "Skipped" : (entry.isCorrect ? "Correct ✔️" : "Incorrect ❌")));
-            System.out.println("Historical Decision: " + entry.historicalChoice);
-            System.out.println("Summary: " + entry.summary + "\n");
-        }
-    }
-
-    /**
-     * Represents a single entry in the archive.
-     */
-    static class ArchiveEntry {
-        String leader;
-        int levelNumber;
-        String description;
-        String historicalChoice;
-        String summary;
-        String playerChoice;
-        boolean isCorrect;
-
-        /**
-         * Creates a new archive entry.
-         * @param leader The leader's name.
-         * @param levelNumber The level number.
-         * @param description The level description.
-         * @param historicalChoice The historical choice made.
-         * @param summary The level summary.
-         * @param playerChoice The player's chosen option.
-         * @param isCorrect Whether the player's choice was correct.
-         */
-        public ArchiveEntry(String leader, int levelNumber, String description, String historicalChoice, String summary, String playerChoice, boolean isCorrect) {
-            this.leader = leader;
-            this.levelNumber = levelNumber;
-            this.description = description;
-            this.historicalChoice = historicalChoice;
-            this.summary = summary;
-            this.playerChoice = playerChoice != null ? playerChoice : "";
-            this.isCorrect = isCorrect;
+        ui.displayMessage("\n=== Archive Search Results ===");
+        for (ArchiveRecord entry : results) {
+            String playerChoice = entry.playerChoice();
+            ui.displayMessage("Leader: " + entry.leader());
+            ui.displayMessage("Level " + entry.levelNumber() + ": " + entry.description());
+            ui.displayMessage("Your Choice: " + (playerChoice.isEmpty() ? "Skipped" : playerChoice));
+            ui.displayMessage("Result: " + (playerChoice.isEmpty() ? "Skipped" : (entry.isCorrect() ? "Correct ✔️" : "Incorrect ❌")));
+            ui.displayMessage("Historical Decision: " + entry.historicalChoice());
+            ui.displayMessage("Summary: " + entry.summary() + "\n");
         }
     }
 }
\ No newline at end of file
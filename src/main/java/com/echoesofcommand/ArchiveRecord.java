@@ -0,0 +1,298 @@
+package com.echoesofcommand;
+
+import eoc.ui.model.Choice;
+import eoc.ui.model.Leader;
+import eoc.ui.model.Level;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One archived decision, stored as a reference into the scenario catalog rather than as a
+ * copy of the level's text. The description, choices and summary are looked up from the
+ * catalog of the entry's language when they are displayed or indexed.
+ *
+ * <p>Entries written before this format carried the text itself. They are converted by
+ * {@link #fromLegacy(Map)} when the level and choice can be found in the catalog; an entry
+ * whose text no longer matches any catalog keeps its original fields in {@link #legacy()}.
+ * @param username The player who made the decision.
+ * @param leader The leader's name, which identifies the leader in every language.
+ * @param levelNumber The level number within the leader, or -1 if unknown.
+ * @param language The language code of the scenario text ("en" or "ar").
+ * @param choice The index of the chosen option in the catalog order, or -1 if skipped.
+ * @param isCorrect Whether the choice was the historical one.
+ * @param timestamp When the decision was made in epoch milliseconds, or 0 if unknown.
+ * @param legacy The original fields of an entry that could not be matched to the catalog, or null.
+ */
+public record ArchiveRecord(String username, String leader, int levelNumber, String language,
+                            int choice, boolean isCorrect, long timestamp, Map<String, Object> legacy) {
+    /** Language codes in the order of their byte code on disk. */
+    private static final List<String> LANGUAGES = List.of("en", "ar");
+    private static final byte FORMAT_REFERENCE = 1;
+
+    /**
+     * Creates a reference entry.
+     * @param username The player.
+     * @param leader The leader's name.
+     * @param levelNumber The level number.
+     * @param language The language code.
+     * @param choice The chosen option's index in catalog order, or -1 if skipped.
+     * @param isCorrect Whether the choice was the historical one.
+     * @param timestamp When the decision was made.
+     * @return The entry.
+     */
+    public static ArchiveRecord of(String username, String leader, int levelNumber, String language,
+                                   int choice, boolean isCorrect, long timestamp) {
+        return new ArchiveRecord(username, leader, levelNumber, language, choice, isCorrect, timestamp, null);
+    }
+
+    /**
+     * Gets the language code of a scenario resource.
+     * @param historyResource The resource, e.g. "history-ar.json".
+     * @return The language code.
+     */
+    public static String languageOf(String historyResource) {
+        return historyResource.startsWith("history-ar") ? "ar" : "en";
+    }
+
+    private static String resourceOf(String language) {
+        return "ar".equals(language) ? "history-ar.json" : "history.json";
+    }
+
+    /**
+     * Builds the deduplication key: "username:leader:levelNumber".
+     * @return The key, or null if the entry lacks one of the key fields.
+     */
+    public String key() {
+        if (username == null || leader == null || levelNumber < 0) {
+            return null;
+        }
+        return username.toLowerCase(Locale.ROOT) + ":" + leader + ":" + levelNumber;
+    }
+
+    /**
+     * Finds the archived level in the catalog of the entry's language.
+     * @return The level, or null if the catalog has no such level.
+     */
+    public Level level() {
+        return findLevel(language, leader, levelNumber);
+    }
+
+    /**
+     * Gets the scenario text of the level.
+     * @return The description, or an empty string if unavailable.
+     */
+    public String description() {
+        if (legacy != null) return text(legacy.get("description"));
+        Level level = level();
+        return level != null ? level.getDescription() : "";
+    }
+
+    /**
+     * Gets the level's summary.
+     * @return The summary, or an empty string if unavailable.
+     */
+    public String summary() {
+        if (legacy != null) return text(legacy.get("summary"));
+        Level level = level();
+        return level != null ? level.getSummary() : "";
+    }
+
+    /**
+     * Gets the text of the historical option.
+     * @return The text, or an empty string if unavailable.
+     */
+    public String historicalChoice() {
+        if (legacy != null) return text(legacy.get("historicalChoice"));
+        Level level = level();
+        if (level == null) return "";
+        for (Choice option : level.getChoices()) {
+            if (option.isHistorical()) return option.getText();
+        }
+        return "";
+    }
+
+    /**
+     * Gets the text of the option the player chose.
+     * @return The text, or an empty string if the level was skipped or is unavailable.
+     */
+    public String playerChoice() {
+        if (legacy != null) return text(legacy.get("playerChoice"));
+        Level level = level();
+        if (level == null || choice < 0 || choice >= level.getChoices().size()) return "";
+        return level.getChoices().get(choice).getText();
+    }
+
+    /**
+     * Expands the entry into the full archive layout with the text filled in, for display
+     * and for JSON output.
+     * @return A new map with username, leader, levelNumber, description, historicalChoice,
+     *         summary, playerChoice and isCorrect, plus language and timestamp when known.
+     */
+    public Map<String, Object> resolve() {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("username", username);
+        entry.put("leader", leader);
+        entry.put("levelNumber", levelNumber);
+        entry.put("description", description());
+        entry.put("historicalChoice", historicalChoice());
+        entry.put("summary", summary());
+        entry.put("playerChoice", playerChoice());
+        entry.put("isCorrect", isCorrect);
+        if (legacy == null) entry.put("language", language);
+        if (timestamp > 0) entry.put("timestamp", timestamp);
+        return entry;
+    }
+
+    /**
+     * Converts an entry in the former layout, which carried the level's text, into a reference.
+     * The language and choice index are found by matching the description and the chosen
+     * text against each catalog.
+     * @param entry The legacy entry.
+     * @return The entry as a reference, or with its fields kept in {@link #legacy()} if it
+     *         matches no catalog.
+     */
+    public static ArchiveRecord fromLegacy(Map<String, Object> entry) {
+        String username = entry.get("username") != null ? entry.get("username").toString() : null;
+        String leader = entry.get("leader") != null ? entry.get("leader").toString() : null;
+        int levelNumber = entry.get("levelNumber") instanceof Number number ? number.intValue() : -1;
+        boolean isCorrect = Boolean.TRUE.equals(entry.get("isCorrect"));
+        long timestamp = entry.get("timestamp") instanceof Number number ? number.longValue() : 0;
+        String description = text(entry.get("description"));
+        String playerChoice = text(entry.get("playerChoice"));
+        for (String language : LANGUAGES) {
+            Level level = findLevel(language, leader, levelNumber);
+            if (level == null || !description.equals(level.getDescription())) continue;
+            int choice = indexOfChoice(level, playerChoice);
+            if (choice >= 0 || playerChoice.isEmpty()) {
+                return of(username, leader, levelNumber, language, choice, isCorrect, timestamp);
+            }
+        }
+        return new ArchiveRecord(username, leader, levelNumber, "en", -1, isCorrect, timestamp, Map.copyOf(withoutNulls(entry)));
+    }
+
+    /**
+     * Finds the catalog index of a choice by its text.
+     * @param language The language code.
+     * @param leader The leader's name.
+     * @param levelNumber The level number.
+     * @param choiceText The text of the chosen option.
+     * @return The index in catalog order, or -1 if not found.
+     */
+    public static int choiceIndexOf(String language, String leader, int levelNumber, String choiceText) {
+        Level level = findLevel(language, leader, levelNumber);
+        return level != null ? indexOfChoice(level, choiceText) : -1;
+    }
+
+    /**
+     * Checks whether this entry still carries its own text.
+     * @return True if the entry could not be matched to the catalog.
+     */
+    public boolean isLegacy() {
+        return legacy != null;
+    }
+
+    /**
+     * Encodes a reference entry as a journal payload:
+     * <pre>
+     * byte 1 | UTF username | UTF leader | short levelNumber | byte language | byte choice | byte isCorrect | long timestamp
+     * </pre>
+     * The first byte tells it apart from a JSON payload, which starts with '{'.
+     * @return The payload.
+     * @throws IllegalStateException If the entry is a legacy entry.
+     */
+    byte[] encode() {
+        if (legacy != null) {
+            throw new IllegalStateException("Legacy entries are stored as JSON");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_REFERENCE);
+            out.writeUTF(username);
+            out.writeUTF(leader);
+            out.writeShort(levelNumber);
+            out.writeByte(Math.max(0, LANGUAGES.indexOf(language)));
+            out.writeByte(choice);
+            out.writeBoolean(isCorrect);
+            out.writeLong(timestamp);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Checks whether a journal payload is a reference entry written by {@link #encode()}.
+     * @param payload The payload.
+     * @return True for a reference entry, false for a JSON entry.
+     */
+    static boolean isReference(byte[] payload) {
+        return payload.length > 0 && payload[0] == FORMAT_REFERENCE;
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode()}. Names are interned, since every
+     * entry of a player or leader repeats the same few strings.
+     * @param payload The payload.
+     * @return The entry.
+     */
+    static ArchiveRecord decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            in.readByte();
+            String username = in.readUTF().intern();
+            String leader = in.readUTF().intern();
+            int levelNumber = in.readShort();
+            int language = in.readByte();
+            int choice = in.readByte();
+            boolean isCorrect = in.readBoolean();
+            long timestamp = in.readLong();
+            return of(username, leader, levelNumber, LANGUAGES.get(language < LANGUAGES.size() ? language : 0),
+                    choice, isCorrect, timestamp);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Level findLevel(String language, String leaderName, int levelNumber) {
+        if (leaderName == null) return null;
+        Leader leader;
+        try {
+            leader = ScenarioCatalog.getInstance().guiLeader(resourceOf(language), leaderName);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+        if (leader == null) return null;
+        for (Level level : leader.getLevels()) {
+            if (level.getNumber() == levelNumber) return level;
+        }
+        return null;
+    }
+
+    private static int indexOfChoice(Level level, String choiceText) {
+        List<Choice> choices = level.getChoices();
+        for (int i = 0; i < choices.size(); i++) {
+            if (choices.get(i).getText().equals(choiceText)) return i;
+        }
+        return -1;
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> entry) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        entry.forEach((name, value) -> {
+            if (value != null) copy.put(name, value);
+        });
+        return copy;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
@@ -0,0 +1,78 @@
+package com.echoesofcommand;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides a bot player's answer to a level during a headless simulation.
+ */
+@FunctionalInterface
+public interface BotStrategy {
+    /**
+     * Chooses an answer.
+     * @param level The level being played, with choices in display order.
+     * @param random The generator of the thread running the round.
+     * @return 1 or 2 to pick a choice, any other value to let the level time out.
+     */
+    int choose(Level level, RandomGenerator random);
+
+    /**
+     * Always picks the historical choice.
+     * @return The strategy.
+     */
+    static BotStrategy historical() {
+        return (level, random) -> historicalChoice(level);
+    }
+
+    /**
+     * Picks one of the two choices uniformly at random.
+     * @return The strategy.
+     */
+    static BotStrategy random() {
+        return (level, random) -> 1 + random.nextInt(2);
+    }
+
+    /**
+     * Picks the historical choice except for a per-leader error rate, and sometimes lets the
+     * level time out.
+     * @param errorRates The probability of a wrong answer, per leader name.
+     * @param defaultErrorRate The error rate for leaders not in the map.
+     * @param skipRate The probability of letting a level time out.
+     * @return The strategy.
+     */
+    static BotStrategy errorProfile(Map<String, Double> errorRates, double defaultErrorRate, double skipRate) {
+        Map<String, Double> rates = Map.copyOf(errorRates);
+        return (level, random) -> {
+            if (random.nextDouble() < skipRate) {
+                return 0;
+            }
+            int historical = historicalChoice(level);
+            double errorRate = rates.getOrDefault(level.getLeaderName(), defaultErrorRate);
+            return random.nextDouble() < errorRate ? 3 - historical : historical;
+        };
+    }
+
+    /**
+     * Builds an error profile from recorded player behaviour: each leader's error rate is the
+     * share of recorded decisions that did not match history.
+     * @param counters Per-leader counters, e.g. from {@link LeaderStats#forUser(String)}.
+     * @param defaultErrorRate The error rate for leaders without decisions.
+     * @return The strategy.
+     */
+    static BotStrategy learnedFrom(Map<String, LeaderStats.Counters> counters, double defaultErrorRate) {
+        Map<String, Double> errorRates = new HashMap<>();
+        counters.forEach((leader, stats) -> {
+            if (stats.attempts() > 0) {
+                errorRates.put(leader, 1.0 - (double) stats.correct() / stats.attempts());
+            }
+        });
+        return errorProfile(errorRates, defaultErrorRate, 0);
+    }
+
+    private static int historicalChoice(Level level) {
+        List<Choice> choices = level.getChoices();
+        return !choices.isEmpty() && choices.get(0).isHistorical() ? 1 : 2;
+    }
+}
@@ -0,0 +1,154 @@
+package com.echoesofcommand;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless {@link GameUI} for simulations: a {@link BotStrategy} answers each level and the
+ * outcome is tallied instead of printed. Only the methods {@link Game#start()} uses are
+ * supported; one instance serves one thread.
+ */
+public class BotUI implements GameUI {
+    private final BotStrategy strategy;
+    private final RandomGenerator random;
+    private final Map<String, long[]> leaderResults = new HashMap<>();
+    private Level currentLevel;
+    private int lastScore;
+    private int lastTotal;
+
+    /**
+     * Creates a bot.
+     * @param strategy The strategy answering each level.
+     * @param random The generator of the thread the bot plays on.
+     */
+    public BotUI(BotStrategy strategy, RandomGenerator random) {
+        this.strategy = strategy;
+        this.random = random;
+    }
+
+    /**
+     * Gets the score of the last finished round.
+     * @return The number of correct choices.
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * Gets the number of levels in the last finished round.
+     * @return The level count.
+     */
+    public int getLastTotal() {
+        return lastTotal;
+    }
+
+    /**
+     * Gets the decisions made so far, per leader.
+     * @return For each leader name, {decisions, correct decisions}.
+     */
+    public Map<String, long[]> getLeaderResults() {
+        return leaderResults;
+    }
+
+    @Override
+    public void displayLevel(Level level) {
+        currentLevel = level;
+    }
+
+    @Override
+    public int getPlayerChoice() {
+        return strategy.choose(currentLevel, random);
+    }
+
+    @Override
+    public void displayResult(boolean correct, String summary) {
+        long[] counts = leaderResults.computeIfAbsent(currentLevel.getLeaderName(), leader -> new long[2]);
+        counts[0]++;
+        if (correct) counts[1]++;
+    }
+
+    @Override
+    public void displayTimeoutSkip() {
+        leaderResults.computeIfAbsent(currentLevel.getLeaderName(), leader -> new long[2])[0]++;
+    }
+
+    @Override
+    public void displayLeaderSequence(String leaderName, int index, int total) {
+    }
+
+    @Override
+    public void showProgress(int score, int total) {
+    }
+
+    @Override
+    public void displayEndOfRound(int score, int total, long timeMillis) {
+        lastScore = score;
+        lastTotal = total;
+    }
+
+    @Override
+    public void displayWelcomeMessage() {
+        throw unsupported();
+    }
+
+    @Override
+    public String promptUsername() {
+        throw unsupported();
+    }
+
+    @Override
+    public void searchDisabledNotice() {
+        throw unsupported();
+    }
+
+    @Override
+    public int promptPlayMode() {
+        throw unsupported();
+    }
+
+    @Override
+    public Leader selectLeader(List<Leader> leaders) {
+        return leaders.get(random.nextInt(leaders.size()));
+    }
+
+    @Override
+    public boolean promptArchiveSearch() {
+        return false;
+    }
+
+    @Override
+    public String promptSearchKeyword() {
+        throw unsupported();
+    }
+
+    @Override
+    public int promptPostRoundOption() {
+        throw unsupported();
+    }
+
+    @Override
+    public void displayLeaderboard(GameMode mode, List<PlayerRecord> ranked) {
+    }
+
+    @Override
+    public void displayGoodbyeMessage() {
+    }
+
+    @Override
+    public void displayPlayerStats(PlayerRecord player) {
+    }
+
+    @Override
+    public void displayMessage(String message) {
+    }
+
+    @Override
+    public void displayLeaderStats(Map<String, LeaderStats.Counters> leaderStats) {
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Bots only play rounds");
+    }
+}
@@ -1,8 +1,8 @@
 package com.echoesofcommand;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages the game logic, including gameplay loop and scoring.
@@ -14,6 +14,8 @@ public class Game {
     private final ArchiveManager archive;
     private final boolean sequential;
     private final boolean randomized;
+    private final RandomGenerator random;
+    private final String language;
     private int score;
     private long startTime;
     private int levelsPlayed;
@@ -27,14 +29,43 @@ public class Game {
      * @param archive The archive manager.
      * @param sequential Whether to play in sequential mode.
      * @param randomized Whether to play in randomized mode.
+     * @param language The language of the scenario resource the leaders were loaded from,
+     *                 see {@link ArchiveRecord#languageOf(String)}.
      */
-    public Game(List<Leader> leaders, GameUI ui, PlayerRecord player, ArchiveManager archive, boolean sequential, boolean randomized) {
+    public Game(List<Leader> leaders, GameUI ui, PlayerRecord player, ArchiveManager archive, boolean sequential, boolean randomized, String language) {
+        this(leaders, ui, player, archive, sequential, randomized, new Random(), language);
+    }
+
+    /**
+     * Creates a new game instance with its own random generator, so that many games can
+     * run in parallel without sharing one.
+     * @param leaders The list of leaders to play.
+     * @param ui The user interface.
+     * @param player The player's record.
+     * @param archive The archive manager, or null to not archive decisions.
+     * @param sequential Whether to play in sequential mode.
+     * @param randomized Whether to play in randomized mode.
+     * @param random The generator used to shuffle levels and choices.
+     * @param language The language of the scenario resource the leaders were loaded from,
+     *                 see {@link ArchiveRecord#languageOf(String)}.
+     */
+    public Game(List<Leader> leaders, GameUI ui, PlayerRecord player, ArchiveManager archive, boolean sequential, boolean randomized, RandomGenerator random, String language) {
         this.leaders = leaders;
         this.ui = ui;
         this.player = player;
         this.archive = archive;
         this.sequential = sequential;
         this.randomized = randomized;
+        this.random = random;
+        this.language = language;
+    }
+
+    /**
+     * Gets the score of the last round played.
+     * @return The number of correct choices.
+     */
+    public int getScore() {
+        return score;
     }
 
     /**
@@ -46,48 +77,49 @@ public class Game {
         levelsPlayed = 0;
         correctChoices = 0;
 
-        List<Level> levelsToPlay = new ArrayList<>();
+        PlayPlan<Leader, Level> plan = PlayPlan.compile(leaders, randomized, randomized, random);
+        int totalLevels = plan.size();
         int totalLeaders = leaders.size();
 
-        // Collect all levels
-        for (Leader leader : leaders) {
-            for (Level level : leader.getLevels()) {
-                // Set the leader name for each level
-                level = new Level(level.getNumber(), level.getDescription(), level.getChoices(), level.getSummary(), leader.getName());
-                levelsToPlay.add(level);
-            }
-        }
-
-        int totalLevels = levelsToPlay.size();
-        int leaderCount = 0;
-
-        // Randomize levels if in randomized mode
-        if (randomized) {
-            Collections.shuffle(levelsToPlay);
+        String mode = GameMode.of(sequential, randomized).name();
+        String usernameHash = GameEvents.hashUsername(player.getUsername());
+        GameEvents.RoundStart roundStart = new GameEvents.RoundStart();
+        if (roundStart.shouldCommit()) {
+            roundStart.mode = mode;
+            roundStart.usernameHash = usernameHash;
+            roundStart.levelCount = totalLevels;
+            roundStart.commit();
         }
+        GameEvents.RoundEnd roundEnd = new GameEvents.RoundEnd();
+        roundEnd.begin();
 
         // Play through levels
-        for (int i = 0; i < levelsToPlay.size(); i++) {
-            Level level = levelsToPlay.get(i);
+        for (int i = 0; i < totalLevels; i++) {
+            Level level = plan.level(i);
             if (sequential && !randomized) {
-                // Find the leader index for sequential mode
-                leaderCount = getLeaderIndex(levelsToPlay, i, totalLeaders);
-                ui.displayLeaderSequence(level.getLeaderName(), leaderCount, totalLeaders);
-            }
-
-            // Randomize choices for randomized mode
-            if (randomized) {
-                level.randomizeChoices();
+                ui.displayLeaderSequence(plan.leader(i).getName(), plan.leaderRunOf(i) + 1, totalLeaders);
             }
 
+            GameEvents.LevelShown shown = new GameEvents.LevelShown();
+            shown.begin();
             ui.displayLevel(level);
+            if (shown.shouldCommit()) {
+                shown.mode = mode;
+                shown.usernameHash = usernameHash;
+                shown.leader = plan.leader(i).getName();
+                shown.levelNumber = level.getNumber();
+                shown.levelIndex = i;
+                shown.commit();
+            }
+            GameEvents.ChoiceMade choiceMade = new GameEvents.ChoiceMade();
+            choiceMade.begin();
             int choice = ui.getPlayerChoice();
             levelsPlayed++;
             String playerChoiceText = "";
             boolean isCorrect = false;
             if (choice == 1 || choice == 2) {
                 playerChoiceText = level.getChoices().get(choice - 1).getText();
-                isCorrect = level.getChoices().get(choice - 1).isHistorical();
+                isCorrect = plan.historicalChoice(i) == choice - 1;
                 if (isCorrect) {
                     score++;
                     correctChoices++;
@@ -96,33 +128,37 @@ public class Game {
             } else {
                 ui.displayTimeoutSkip();
             }
-            archive.addEntry(level.getLeaderName(), level, playerChoiceText, isCorrect);
-            archive.saveToJson();
+            if (choiceMade.shouldCommit()) {
+                choiceMade.mode = mode;
+                choiceMade.usernameHash = usernameHash;
+                choiceMade.leader = plan.leader(i).getName();
+                choiceMade.levelNumber = level.getNumber();
+                choiceMade.choice = choice == 1 || choice == 2 ? choice - 1 : -1;
+                choiceMade.correct = isCorrect;
+                choiceMade.commit();
+            }
+            if (archive != null) {
+                archive.addEntry(player.getUsername(), language, plan.leader(i).getName(), level, playerChoiceText, isCorrect);
+            }
             ui.showProgress(score, totalLevels);
         }
+        if (archive != null) {
+            archive.flush();
+        }
+
+        if (roundEnd.shouldCommit()) {
+            roundEnd.mode = mode;
+            roundEnd.usernameHash = usernameHash;
+            roundEnd.levelCount = totalLevels;
+            roundEnd.levelsPlayed = levelsPlayed;
+            roundEnd.score = score;
+            roundEnd.completed = true;
+            roundEnd.commit();
+        }
 
         long elapsed = System.currentTimeMillis() - startTime;
         ui.displayEndOfRound(score, totalLevels, elapsed);
         player.recordSession(score, elapsed, sequential, randomized);
         player.updateStatistics(levelsPlayed, correctChoices, elapsed);
     }
-
-    /**
-     * Determines the current leader index for sequential mode.
-     * @param levels The list of levels.
-     * @param currentIndex The current level index.
-     * @param totalLeaders The total number of leaders.
-     * @return The leader index (1-based).
-     */
-    private int getLeaderIndex(List<Level> levels, int currentIndex, int totalLeaders) {
-        String currentLeader = levels.get(currentIndex).getLeaderName();
-        int leaderCount = 1;
-        for (int i = 0; i < currentIndex; i++) {
-            if (!levels.get(i).getLeaderName().equals(currentLeader)) {
-                leaderCount++;
-                currentLeader = levels.get(i).getLeaderName();
-            }
-        }
-        return leaderCount;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.echoesofcommand;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * JDK Flight Recorder events for the game lifecycle and persistence. They show up under
+ * "Echoes of Command" in JDK Mission Control next to the JVM's own I/O, GC and thread events,
+ * so a UI stall on a kiosk can be matched with the write that caused it.
+ *
+ * <p>A kiosk can keep a continuous recording with, for example,
+ * {@code -XX:StartFlightRecording:disk=true,maxage=6h,filename=Echoes_of_Command/}.
+ * When no recording is running an event costs one allocation and a flag check.
+ * Usernames are never recorded, only a short hash of them.
+ */
+public final class GameEvents {
+    private static final String CATEGORY = "Echoes of Command";
+
+    private GameEvents() {
+    }
+
+    /**
+     * A round was set up and its first level is about to be shown.
+     */
+    @Name("eoc.RoundStart")
+    @Label("Round Start")
+    @Category({CATEGORY, "Game"})
+    @StackTrace(false)
+    public static final class RoundStart extends Event {
+        @Label("Mode")
+        public String mode;
+        @Label("Username Hash")
+        public String usernameHash;
+        @Label("Level Count")
+        public int levelCount;
+    }
+
+    /**
+     * A round ended, either after its last level or because the player left. Begins when
+     * the round starts, so its duration is the time spent in the round.
+     */
+    @Name("eoc.RoundEnd")
+    @Label("Round End")
+    @Category({CATEGORY, "Game"})
+    @StackTrace(false)
+    public static final class RoundEnd extends Event {
+        @Label("Mode")
+        public String mode;
+        @Label("Username Hash")
+        public String usernameHash;
+        @Label("Level Count")
+        public int levelCount;
+        @Label("Levels Played")
+        public int levelsPlayed;
+        @Label("Score")
+        public int score;
+        @Label("Completed")
+        @Description("False if the player left before the last level")
+        public boolean completed;
+    }
+
+    /**
+     * A level was put on screen; the duration is the time taken to show it.
+     */
+    @Name("eoc.LevelShown")
+    @Label("Level Shown")
+    @Category({CATEGORY, "Game"})
+    @StackTrace(false)
+    public static final class LevelShown extends Event {
+        @Label("Mode")
+        public String mode;
+        @Label("Username Hash")
+        public String usernameHash;
+        @Label("Leader")
+        public String leader;
+        @Label("Level Number")
+        public int levelNumber;
+        @Label("Level Index")
+        @Description("Position of the level in the round")
+        public int levelIndex;
+    }
+
+    /**
+     * The player chose. Begins when the level is shown, so its duration is the decision time.
+     */
+    @Name("eoc.ChoiceMade")
+    @Label("Choice Made")
+    @Category({CATEGORY, "Game"})
+    @StackTrace(false)
+    public static final class ChoiceMade extends Event {
+        @Label("Mode")
+        public String mode;
+        @Label("Username Hash")
+        public String usernameHash;
+        @Label("Leader")
+        public String leader;
+        @Label("Level Number")
+        public int levelNumber;
+        @Label("Choice")
+        @Description("Index of the chosen option, or -1 if the level was skipped")
+        public int choice;
+        @Label("Correct")
+        public boolean correct;
+    }
+
+    /**
+     * Archive records were made durable, or the archive journal was compacted.
+     */
+    @Name("eoc.ArchiveSave")
+    @Label("Archive Save")
+    @Category({CATEGORY, "Persistence"})
+    public static final class ArchiveSave extends Event {
+        @Label("Operation")
+        @Description("\"sync\" or \"compaction\"")
+        public String operation;
+        @Label("File")
+        public String file;
+        @Label("Records")
+        public long records;
+        @Label("Bytes Written")
+        @DataAmount
+        public long bytesWritten;
+    }
+
+    /**
+     * Player records or statistics were written.
+     */
+    @Name("eoc.PlayerStatsUpdate")
+    @Label("Player Stats Update")
+    @Category({CATEGORY, "Persistence"})
+    public static final class PlayerStatsUpdate extends Event {
+        @Label("Target")
+        @Description("The store and operation, e.g. \"players.journal\" or \"leader-stats.flush\"")
+        public String target;
+        @Label("Username Hash")
+        @Description("The updated player, if the write concerns one")
+        public String usernameHash;
+        @Label("Players")
+        public int players;
+        @Label("Bytes Written")
+        @DataAmount
+        public long bytesWritten;
+    }
+
+    /**
+     * An FXML view was shown; the duration runs until its first layout pulse.
+     */
+    @Name("eoc.SceneLoad")
+    @Label("Scene Load")
+    @Category({CATEGORY, "UI"})
+    @StackTrace(false)
+    public static final class SceneLoad extends Event {
+        @Label("View")
+        public String view;
+        @Label("Reused")
+        @Description("True if a pooled view was reset instead of loading the FXML")
+        public boolean reused;
+    }
+
+    /**
+     * An archive search ran.
+     */
+    @Name("eoc.SearchQuery")
+    @Label("Search Query")
+    @Category({CATEGORY, "UI"})
+    @StackTrace(false)
+    public static final class SearchQuery extends Event {
+        @Label("Username Hash")
+        @Description("The player whose archive was searched, or null for all players")
+        public String usernameHash;
+        @Label("Keyword Length")
+        public int keywordLength;
+        @Label("Hits")
+        public int hits;
+    }
+
+    /**
+     * Hashes a username so events can be grouped per player without recording the name.
+     * @param username The username; case is ignored.
+     * @return The first 8 bytes of its SHA-256 as hex, or null if the username is null.
+     */
+    public static String hashUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.echoesofcommand;
+
+/**
+ * The three ways a round can be played; each has its own best scores and leaderboard.
+ */
+public enum GameMode {
+    SINGLE,
+    SEQUENTIAL,
+    RANDOM;
+
+    /**
+     * Maps the console engine's mode flags to a mode.
+     * @param sequential True if sequential mode.
+     * @param randomized True if randomized mode.
+     * @return The mode.
+     */
+    public static GameMode of(boolean sequential, boolean randomized) {
+        if (randomized) {
+            return RANDOM;
+        }
+        return sequential ? SEQUENTIAL : SINGLE;
+    }
+}
@@ -0,0 +1,178 @@
+package com.echoesofcommand;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts many game sessions in one process. Every accepted connection is played on its own
+ * virtual thread through a {@link SocketUI}; all sessions share the scenario catalog, the
+ * {@link PlayerManager} and the {@link ArchiveManager}.
+ *
+ * <p>Usage: {@code GameServer [port [host]]}, or {@code Main --server [port [host]]}. The
+ * protocol has no authentication, so the server listens on the loopback address unless a
+ * host to bind is given, for example {@code 0.0.0.0} for every interface. While sessions are
+ * open the server periodically prints how many there are and the heap they use, which gives
+ * the memory cost of one session; {@link GameServerLoad} drives it from localhost.
+ */
+public final class GameServer {
+    private static final int DEFAULT_PORT = 7777;
+    private static final int BACKLOG = 4096;
+    private static final int IDLE_TIMEOUT_MILLIS = 15 * 60 * 1000;
+    private static final long STATUS_INTERVAL_MILLIS = 10_000;
+    // Set -Deoc.metrics.intervalSec=SECONDS to change how often metrics.prom is rewritten
+    private static final long METRICS_INTERVAL_SECONDS = Long.getLong("eoc.metrics.intervalSec", 15);
+
+    private final PlayerManager pm;
+    private final ArchiveManager am;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong totalSessions = new AtomicLong();
+    private final LongAdder roundsPlayed = new LongAdder();
+    private volatile long baselineHeapBytes;
+
+    /**
+     * Creates a server.
+     * @param pm The player manager shared by all sessions.
+     * @param am The archive manager shared by all sessions.
+     */
+    public GameServer(PlayerManager pm, ArchiveManager am) {
+        this.pm = pm;
+        this.am = am;
+    }
+
+    /**
+     * Accepts connections until the server socket is closed.
+     * @param server The bound server socket.
+     * @throws IOException If accepting fails for a reason other than the socket being closed.
+     */
+    public void serve(ServerSocket server) throws IOException {
+        System.gc();
+        baselineHeapBytes = usedHeapBytes();
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                if (server.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            long id = totalSessions.incrementAndGet();
+            Thread.ofVirtual().name("session-" + id).start(() -> handle(socket, id));
+        }
+    }
+
+    /**
+     * Gets the number of open sessions.
+     * @return The active session count.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Describes the open sessions and the heap they use.
+     * @return A one-line status.
+     */
+    public String status() {
+        int active = activeSessions.get();
+        long sessionHeap = Math.max(0, usedHeapBytes() - baselineHeapBytes);
+        return String.format("Sessions: %d active, %d total, %d rounds played; live heap used by sessions %.1f MB (%.1f KB per active session)",
+                active, totalSessions.get(), roundsPlayed.sum(), sessionHeap / (1024.0 * 1024.0),
+                active > 0 ? sessionHeap / 1024.0 / active : 0.0);
+    }
+
+    private void handle(Socket socket, long id) {
+        activeSessions.incrementAndGet();
+        GameSession session = null;
+        try (SocketUI ui = new SocketUI(socket)) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            session = new GameSession(ui, pm, am);
+            session.run();
+        } catch (NoSuchElementException e) {
+            // The client disconnected or stayed idle past the timeout
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Session " + id + " failed: " + e.getMessage());
+        } finally {
+            if (session != null) {
+                roundsPlayed.add(session.getRoundsPlayed());
+            }
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the heap in use after the latest garbage collection, so that the figure reflects
+     * live session state rather than garbage that has not been collected yet.
+     */
+    private static long usedHeapBytes() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && afterGc != null) {
+                used += afterGc.getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Starts a server.
+     * @param args The port to listen on and the host address to bind, both optional.
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        InetAddress address;
+        try {
+            address = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+        } catch (UnknownHostException e) {
+            System.err.println("Error running server: Unknown host " + args[1]);
+            return;
+        }
+        Metrics.getInstance().startExport(Paths.get("metrics.prom"), METRICS_INTERVAL_SECONDS);
+        ScenarioCatalog.getInstance().leaders("history.json");
+        PlayerManager pm = new PlayerManager();
+        ArchiveManager am = new ArchiveManager();
+        GameServer gameServer = new GameServer(pm, am);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            pm.save();
+            am.flush();
+        }, "server-shutdown"));
+        Thread.ofVirtual().name("server-status").start(() -> {
+            long reportedSessions = 0;
+            while (true) {
+                try {
+                    Thread.sleep(STATUS_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (gameServer.getActiveSessions() > 0 || gameServer.totalSessions.get() != reportedSessions) {
+                    reportedSessions = gameServer.totalSessions.get();
+                    System.out.println(gameServer.status());
+                }
+            }
+        });
+
+        try (ServerSocket server = new ServerSocket()) {
+            server.bind(new InetSocketAddress(address, port), BACKLOG);
+            System.out.println("Echoes of Command server listening on " + address.getHostAddress() + ":" + server.getLocalPort());
+            gameServer.serve(server);
+        } catch (IOException e) {
+            System.err.println("Error running server: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.echoesofcommand;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for the {@link GameServer}: opens many concurrent sessions, each on a virtual
+ * thread, and plays them through the text protocol by answering the console prompts.
+ *
+ * <p>Usage: {@code GameServerLoad [host] [port] [sessions] [rounds per session]}
+ */
+public final class GameServerLoad {
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+
+    private final String host;
+    private final int port;
+    private final int rounds;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<long[]> latencies = new ArrayList<>();
+
+    private GameServerLoad(String host, int port, int rounds) {
+        this.host = host;
+        this.port = port;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Plays one scripted session.
+     * @param id The session number, used for the username.
+     */
+    private void play(int id) {
+        long[] answerNanos = new long[64];
+        int answers = 0;
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            Reader in = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            StringBuilder screen = new StringBuilder();
+            char[] buffer = new char[4096];
+            int roundsLeft = rounds;
+            long sentAt = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                screen.append(buffer, 0, read);
+                String answer = answerFor(screen, id, roundsLeft);
+                if (answer == null) {
+                    continue;
+                }
+                if (sentAt != 0) {
+                    if (answers == answerNanos.length) answerNanos = Arrays.copyOf(answerNanos, answers * 2);
+                    answerNanos[answers++] = System.nanoTime() - sentAt;
+                }
+                if (screen.indexOf("What next?") >= 0 && answer.equals("1")) {
+                    roundsLeft--;
+                }
+                screen.setLength(0);
+                out.write(answer);
+                out.write('\n');
+                out.flush();
+                sentAt = System.nanoTime();
+            }
+            completed.incrementAndGet();
+        } catch (IOException e) {
+            failed.incrementAndGet();
+        }
+        synchronized (latencies) {
+            latencies.add(Arrays.copyOf(answerNanos, answers));
+        }
+    }
+
+    /**
+     * Picks the answer to the prompt at the end of the output received so far.
+     * @return The answer, or null if no prompt is waiting yet.
+     */
+    private static String answerFor(StringBuilder screen, int id, int roundsLeft) {
+        if (endsWith(screen, "(yes/no): ")) {
+            return "no";
+        }
+        if (endsWith(screen, "Enter your username: ")) {
+            return "load_" + id;
+        }
+        if (endsWith(screen, "Your choice (1 or 2): ")) {
+            return ThreadLocalRandom.current().nextBoolean() ? "1" : "2";
+        }
+        if (endsWith(screen, "Enter choice (1–4): ")) {
+            if (screen.indexOf("How do you want to play?") >= 0) {
+                return id % 2 == 0 ? "2" : "3";
+            }
+            return roundsLeft > 1 ? "1" : "4";
+        }
+        return null;
+    }
+
+    private static boolean endsWith(StringBuilder screen, String suffix) {
+        int start = screen.length() - suffix.length();
+        return start >= 0 && screen.indexOf(suffix, start) == start;
+    }
+
+    /**
+     * Runs the load test.
+     * @param args Host, port, number of sessions and rounds per session, all optional.
+     * @throws InterruptedException If interrupted while waiting for the sessions.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7777;
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        GameServerLoad load = new GameServerLoad(host, port, rounds);
+
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            int id = i;
+            threads.add(Thread.ofVirtual().name("load-" + id).start(() -> load.play(id)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = load.latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%d sessions (%d completed, %d failed) of %d round(s) in %.2f s%n",
+                sessions, load.completed.get(), load.failed.get(), rounds, seconds);
+        System.out.printf("%d answers, %.0f answers/s, %.1f rounds/s%n",
+                all.length, all.length / seconds, load.completed.get() * (double) rounds / seconds);
+        if (all.length > 0) {
+            System.out.printf("Response time: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.echoesofcommand;
+
+import java.util.List;
+
+/**
+ * One player's session: login, rounds, archive search and statistics until the player quits.
+ * The console runs a single session; the {@link GameServer} runs one per connection, all
+ * sharing the same {@link PlayerManager} and {@link ArchiveManager}.
+ */
+public class GameSession {
+    private static final String LEADERS_FILE = "history.json";
+    private static final int LEADERBOARD_SIZE = 10;
+
+    private final ConsoleUI ui;
+    private final PlayerManager pm;
+    private final ArchiveManager am;
+    private final JsonLoader loader = new JsonLoader();
+    private int roundsPlayed;
+
+    /**
+     * Creates a session.
+     * @param ui The user interface of this session.
+     * @param pm The player manager shared by all sessions.
+     * @param am The archive manager shared by all sessions.
+     */
+    public GameSession(ConsoleUI ui, PlayerManager pm, ArchiveManager am) {
+        this.ui = ui;
+        this.pm = pm;
+        this.am = am;
+    }
+
+    /**
+     * Gets the number of rounds finished in this session.
+     * @return The round count.
+     */
+    public int getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Runs the session until the player quits.
+     * @throws java.util.NoSuchElementException If the input ends before the player quits.
+     */
+    public void run() {
+        boolean running = true;
+        while (running) {
+            ui.displayWelcomeMessage();
+            ui.offerCourseMaterial();
+            // Player login
+            PlayerRecord player;
+            String username = ui.promptUsername();
+            player = pm.login(username);
+            ui.displayWelcomeForPlayer(player);
+            pm.recordLogin(player); // Record login after displaying welcome message
+
+            boolean userActive = true;
+            while (userActive) {
+                ui.searchDisabledNotice();
+                int mode = ui.promptPlayMode();
+                if (mode == 4) {
+                    userActive = false;
+                    running = false;
+                    break;
+                }
+
+                List<Leader> allLeaders;
+                try {
+                    allLeaders = loader.loadLeaders(LEADERS_FILE);
+                } catch (Exception e) {
+                    System.err.println("Error loading leaders: " + e.getMessage());
+                    ui.displayMessage("Cannot start game without leaders. Please try again later.");
+                    break;
+                }
+
+                List<Leader> toPlay;
+                boolean sequential = false;
+                boolean randomized = false;
+                if (mode == 1) {
+                    toPlay = List.of(ui.selectLeader(allLeaders));
+                } else if (mode == 2) {
+                    toPlay = allLeaders;
+                    sequential = true;
+                } else {
+                    toPlay = allLeaders;
+                    randomized = true;
+                }
+
+                Game game = new Game(toPlay, ui, player, am, sequential, randomized, ArchiveRecord.languageOf(LEADERS_FILE));
+                game.start();
+                roundsPlayed++;
+
+                pm.updateRankings(player);
+                pm.save();
+
+                if (ui.promptArchiveSearch()) {
+                    am.promptSearch(ui, player.getUsername());
+                }
+
+                int next = ui.promptPostRoundOption();
+                switch (next) {
+                    case 1 -> { /* replay with same username */ }
+                    case 2 -> userActive = false;
+                    case 3 -> {
+                        ui.displayPlayerStats(player);
+                        ui.displayLeaderStats(am.getLeaderStats(player.getUsername()));
+                    }
+                    case 4 -> {
+                        userActive = false;
+                        running = false;
+                    }
+                }
+            }
+            for (GameMode mode : GameMode.values()) {
+                ui.displayLeaderboard(mode, pm.leaderboard(mode, LEADERBOARD_SIZE));
+            }
+        }
+        ui.displayGoodbyeMessage();
+    }
+}
@@ -1,6 +1,7 @@
 package com.echoesofcommand;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines the user interface methods for the game.
@@ -101,10 +102,11 @@ public interface GameUI {
     int promptPostRoundOption();
 
     /**
-     * Displays the leaderboard.
-     * @param list The list of player records.
+     * Displays the leaderboard of one mode.
+     * @param mode The game mode.
+     * @param ranked The best player records of that mode, best first.
      */
-    void displayLeaderboard(List<PlayerRecord> list);
+    void displayLeaderboard(GameMode mode, List<PlayerRecord> ranked);
 
     /**
      * Displays a goodbye message.
@@ -116,4 +118,16 @@ public interface GameUI {
      * @param player The player's record.
      */
     void displayPlayerStats(PlayerRecord player);
+
+    /**
+     * Displays an informational message.
+     * @param message The message.
+     */
+    void displayMessage(String message);
+
+    /**
+     * Displays the player's per-leader statistics.
+     * @param leaderStats The counters per leader.
+     */
+    void displayLeaderStats(Map<String, LeaderStats.Counters> leaderStats);
 }
\ No newline at end of file
@@ -1,11 +1,5 @@
 package com.echoesofcommand;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
 import java.util.List;
 
 /**
@@ -13,26 +7,14 @@ import java.util.List;
  */
 public class JsonLoader {
     /**
-     * Loads leaders from a JSON resource file.
+     * Loads leaders from a JSON resource file. The resource is parsed once per process
+     * and then served from the shared {@link ScenarioCatalog}.
      * @param resourcePath The path to the JSON file.
-     * @return A list of Leader objects.
+     * @return An unmodifiable list of Leader objects.
      * @throws IllegalArgumentException If the resource is not found.
      * @throws IllegalStateException If the JSON is invalid or empty.
      */
     public List<Leader> loadLeaders(String resourcePath) {
-        try (Reader reader = new InputStreamReader(JsonLoader.class.getClassLoader().getResourceAsStream(resourcePath))) {
-            if (reader == null) {
-                throw new IllegalArgumentException("Resource not found: " + resourcePath);
-            }
-            Gson gson = new Gson();
-            Type leaderListType = new TypeToken<List<Leader>>(){}.getType();
-            List<Leader> leaders = gson.fromJson(reader, leaderListType);
-            if (leaders == null || leaders.isEmpty()) {
-                throw new IllegalStateException("No leaders found in the JSON file.");
-            }
-            return leaders;
-        } catch (Exception e) {
-            throw new IllegalStateException("Error loading " + resourcePath + ": " + e.getMessage(), e);
-        }
+        return ScenarioCatalog.getInstance().leaders(resourcePath);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.echoesofcommand;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets. Values below 128 ns get a
+ * bucket each; above that, every power of two is split into 64 equal buckets, so any
+ * recorded value is reported within 1.6% of itself over the whole range of a long.
+ * Recording is a few atomic increments and never allocates, so it is safe on the FX thread.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * A consistent-enough view of the histogram at one moment. Times are in nanoseconds.
+     * @param count The number of recorded values.
+     * @param sumNanos The sum of the recorded values.
+     * @param maxNanos The largest recorded value.
+     * @param p50Nanos The median.
+     * @param p90Nanos The 90th percentile.
+     * @param p99Nanos The 99th percentile.
+     * @param p999Nanos The 99.9th percentile.
+     */
+    public record Snapshot(long count, long sumNanos, long maxNanos,
+                           long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos) {
+        /**
+         * Gets the mean of the recorded values.
+         * @return The mean in nanoseconds, or 0 if nothing was recorded.
+         */
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) sumNanos / count;
+        }
+    }
+
+    /**
+     * Records one duration.
+     * @param nanos The duration in nanoseconds; negative values count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     * @param startNanos The reading taken when the measured work started.
+     * @return The recorded duration in nanoseconds.
+     */
+    public long recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * Records one duration in another unit.
+     * @param duration The duration.
+     * @param unit The unit of the duration.
+     */
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * @return The count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Takes a snapshot with the usual percentiles.
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = counts.get(i);
+            total += buckets[i];
+        }
+        long highest = max.get();
+        return new Snapshot(total, sum.sum(), highest,
+                valueAt(buckets, total, 0.50, highest), valueAt(buckets, total, 0.90, highest),
+                valueAt(buckets, total, 0.99, highest), valueAt(buckets, total, 0.999, highest));
+    }
+
+    /**
+     * Finds the value below which a fraction of the recorded values fall.
+     * @return The highest value of the bucket holding that rank, capped at the recorded maximum.
+     */
+    private static long valueAt(long[] buckets, long total, double quantile, long highest) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), highest);
+            }
+        }
+        return highest;
+    }
+
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift); // in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return (shift + 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + index % SUB_BUCKETS;
+        long upper = ((mantissa + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
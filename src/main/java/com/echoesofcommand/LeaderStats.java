@@ -0,0 +1,399 @@
+package com.echoesofcommand;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+/**
+ * Per-user, per-leader decision counters, updated as each decision is recorded so that a
+ * player's statistics never require scanning the archive.
+ *
+ * <p>The counters are stored in a small binary log: a header followed by one row per update
+ * <pre>
+ * int length | int crc32(payload) | payload
+ * payload: UTF username | UTF leader | int attempts | int correct | int levels | int levelsCorrect | long lastPlayed
+ * </pre>
+ * where the last row for a (username, leader) pair wins. Once the log holds more than twice
+ * as many rows as there are pairs it is rewritten with one row per pair. Replay stops at
+ * the first row whose checksum does not match and the rest is dropped: quietly for a torn
+ * final row, and with a warning and a {@code .corrupt} copy of the file for a damaged row
+ * further up. Version 1 files, whose rows had no checksum, are rewritten on open.
+ */
+public final class LeaderStats implements Closeable {
+    private static final ConcurrentMap<Path, LeaderStats> OPEN = new ConcurrentHashMap<>();
+    private static final int MAGIC = 0x454F434C; // "EOCL"
+    private static final int VERSION = 2;
+    private static final int UNCHECKED_VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int ROW_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_ROW_BYTES = 1 << 18;
+    private static final int MIN_REWRITE_ROWS = 1024;
+
+    private final Path file;
+    private final Map<String, Map<String, Row>> rows = new HashMap<>();
+    private DataOutputStream out;
+    private FileChannel channel;
+    private long rowCount;
+    private int pairCount;
+    private long version;
+    private boolean uncheckedRows;
+
+    /**
+     * Counters for one leader.
+     * @param attempts Decisions made, including replays of the same level.
+     * @param correct Decisions that matched history.
+     * @param levels Distinct levels archived.
+     * @param levelsCorrect Distinct levels whose archived decision matched history.
+     * @param lastPlayed Epoch millis of the latest decision, or 0 if unknown.
+     */
+    public record Counters(int attempts, int correct, int levels, int levelsCorrect, long lastPlayed) {
+    }
+
+    private static final class Row {
+        int attempts;
+        int correct;
+        int levels;
+        int levelsCorrect;
+        long lastPlayed;
+
+        Counters toCounters() {
+            return new Counters(attempts, correct, levels, levelsCorrect, lastPlayed);
+        }
+    }
+
+    private LeaderStats(Path file) throws IOException {
+        this.file = file;
+        Path dir = file.getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".tmp"));
+        long validBytes = Files.exists(file) ? load() : 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validBytes == 0) {
+            channel.truncate(0);
+            channel.position(0);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+        } else {
+            if (validBytes < channel.size()) {
+                System.err.println("Warning: Dropped " + (channel.size() - validBytes) + " bytes after the last intact row of " + file);
+                channel.truncate(validBytes);
+            }
+            channel.position(validBytes);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            if (uncheckedRows) {
+                rewrite();
+                System.out.println("Converted " + file + " to checksummed rows");
+            }
+        }
+    }
+
+    /**
+     * Opens the counters stored at a path, sharing one instance per file across the process.
+     * When the file does not exist yet it is seeded once from an existing archive journal.
+     * @param file The counters file.
+     * @param seedFrom A journal to build the initial counters from, or null.
+     * @return The open counters.
+     * @throws UncheckedIOException If the file cannot be opened.
+     */
+    public static LeaderStats open(Path file, ArchiveJournal seedFrom) {
+        return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), path -> {
+            try {
+                boolean fresh = !Files.exists(path);
+                LeaderStats stats = new LeaderStats(path);
+                if (fresh && seedFrom != null) {
+                    stats.seed(seedFrom.readAll());
+                }
+                return stats;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open leader stats " + path, e);
+            }
+        });
+    }
+
+    /**
+     * Records one decision.
+     * @param username The player.
+     * @param leader The leader of the level.
+     * @param isCorrect Whether the decision matched history.
+     * @param newLevel Whether this is the first archived decision for the level.
+     * @param timestamp Epoch millis of the decision.
+     */
+    public synchronized void record(String username, String leader, boolean isCorrect, boolean newLevel, long timestamp) {
+        String user = keyOf(username);
+        Row row = rowFor(user, leader);
+        row.attempts++;
+        if (isCorrect) row.correct++;
+        if (newLevel) {
+            row.levels++;
+            if (isCorrect) row.levelsCorrect++;
+        }
+        row.lastPlayed = Math.max(row.lastPlayed, timestamp);
+        version++;
+        try {
+            writeRow(out, user, leader, row);
+            rowCount++;
+            if (rowCount > Math.max(MIN_REWRITE_ROWS, 2L * pairCount)) {
+                rewrite();
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to save leader stats: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets a player's counters.
+     * @param username The player.
+     * @return The counters per leader, sorted by leader name.
+     */
+    public synchronized Map<String, Counters> forUser(String username) {
+        Map<String, Row> leaders = rows.get(keyOf(username));
+        Map<String, Counters> result = new LinkedHashMap<>();
+        if (leaders != null) {
+            new TreeMap<>(leaders).forEach((leader, row) -> result.put(leader, row.toCounters()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets a number that changes whenever a decision is recorded, for cache validation.
+     * @return The version.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Writes buffered rows to the file.
+     * @throws IOException If the write fails.
+     */
+    public synchronized void flush() throws IOException {
+        long start = System.nanoTime();
+        GameEvents.PlayerStatsUpdate event = new GameEvents.PlayerStatsUpdate();
+        event.begin();
+        long before = channel.position();
+        out.flush();
+        Metrics.getInstance().histogram("persistence.write", "target", "leader-stats.flush").recordSince(start);
+        if (event.shouldCommit()) {
+            event.target = "leader-stats.flush";
+            event.players = rows.size();
+            event.bytesWritten = channel.position() - before;
+            event.commit();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        OPEN.remove(file, this);
+        out.close();
+    }
+
+    private void seed(List<ArchiveRecord> entries) throws IOException {
+        Set<String> seen = new HashSet<>();
+        for (ArchiveRecord entry : entries) {
+            String key = entry.key();
+            if (key == null) continue;
+            record(entry.username(), entry.leader(), entry.isCorrect(), seen.add(key), entry.timestamp());
+        }
+        flush();
+    }
+
+    private Row rowFor(String user, String leader) {
+        Map<String, Row> leaders = rows.computeIfAbsent(user, u -> new HashMap<>());
+        Row row = leaders.get(leader);
+        if (row == null) {
+            row = new Row();
+            leaders.put(leader, row);
+            pairCount++;
+        }
+        return row;
+    }
+
+    /**
+     * Reads every row up to the first one that is not intact.
+     * @return The number of valid bytes, or 0 if the header is missing or unknown.
+     */
+    private long load() throws IOException {
+        long fileSize = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                System.err.println("Warning: Ignoring unrecognised leader stats file " + file);
+                return 0;
+            }
+            int fileVersion = in.readInt();
+            if (fileVersion == UNCHECKED_VERSION) {
+                uncheckedRows = true;
+                return loadUnchecked(in);
+            }
+            if (fileVersion != VERSION) {
+                System.err.println("Warning: Ignoring unrecognised leader stats file " + file);
+                return 0;
+            }
+            long valid = HEADER_BYTES;
+            while (valid < fileSize) {
+                if (valid + ROW_HEADER_BYTES > fileSize) return valid; // torn row header
+                int length = in.readInt();
+                int checksum = in.readInt();
+                long rowEnd = valid + ROW_HEADER_BYTES + length;
+                if (length <= 0 || length > MAX_ROW_BYTES) return damaged(valid);
+                if (rowEnd > fileSize) return valid; // torn final row
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (crc(payload) != checksum) {
+                    // A garbled final row is a torn write; anywhere else the file is damaged
+                    return rowEnd == fileSize ? valid : damaged(valid);
+                }
+                try (DataInputStream rowIn = new DataInputStream(new ByteArrayInputStream(payload))) {
+                    applyRow(rowIn);
+                } catch (IOException e) {
+                    return damaged(valid);
+                }
+                valid = rowEnd;
+            }
+            return valid;
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads a version 1 file, whose rows have no checksum, up to its first unreadable row.
+     */
+    private long loadUnchecked(DataInputStream in) {
+        long valid = HEADER_BYTES;
+        while (true) {
+            try {
+                valid += applyRow(in);
+            } catch (IOException e) {
+                // A torn or garbled final row (EOF or bad modified UTF-8); the caller truncates it
+                return valid;
+            }
+        }
+    }
+
+    /**
+     * Reads one row's fields and makes them the current counters of its pair.
+     * @return The number of bytes the fields took.
+     */
+    private long applyRow(DataInputStream in) throws IOException {
+        String user = in.readUTF();
+        String leader = in.readUTF();
+        Row row = new Row();
+        row.attempts = in.readInt();
+        row.correct = in.readInt();
+        row.levels = in.readInt();
+        row.levelsCorrect = in.readInt();
+        row.lastPlayed = in.readLong();
+        Row current = rowFor(user, leader);
+        current.attempts = row.attempts;
+        current.correct = row.correct;
+        current.levels = row.levels;
+        current.levelsCorrect = row.levelsCorrect;
+        current.lastPlayed = row.lastPlayed;
+        rowCount++;
+        return rowBytes(user, leader);
+    }
+
+    /**
+     * Keeps a copy of a file with a damaged row before the rows after it are dropped.
+     * @return The offset of the damaged row.
+     */
+    private long damaged(long offset) throws IOException {
+        Path aside = file.resolveSibling(file.getFileName() + ".corrupt");
+        for (int n = 1; Files.exists(aside); n++) {
+            aside = file.resolveSibling(file.getFileName() + ".corrupt." + n);
+        }
+        Files.copy(file, aside);
+        System.err.println("Warning: Damaged row at byte " + offset + " of " + file
+                + "; the counters after it are lost and the original is kept as " + aside);
+        return offset;
+    }
+
+    /**
+     * Replaces the log with one row per (username, leader) pair.
+     */
+    private void rewrite() throws IOException {
+        out.flush();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long written = 0;
+        try (DataOutputStream tmpOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            tmpOut.writeInt(MAGIC);
+            tmpOut.writeInt(VERSION);
+            for (Map.Entry<String, Map<String, Row>> user : rows.entrySet()) {
+                for (Map.Entry<String, Row> leader : user.getValue().entrySet()) {
+                    writeRow(tmpOut, user.getKey(), leader.getKey(), leader.getValue());
+                    written++;
+                }
+            }
+        }
+        out.close();
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        rowCount = written;
+    }
+
+    private static void writeRow(DataOutputStream out, String user, String leader, Row row) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) rowBytes(user, leader));
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeUTF(user);
+        payload.writeUTF(leader);
+        payload.writeInt(row.attempts);
+        payload.writeInt(row.correct);
+        payload.writeInt(row.levels);
+        payload.writeInt(row.levelsCorrect);
+        payload.writeLong(row.lastPlayed);
+        out.writeInt(bytes.size());
+        out.writeInt(crc(bytes.toByteArray()));
+        bytes.writeTo(out);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long rowBytes(String user, String leader) {
+        return utfBytes(user) + utfBytes(leader) + 4L * Integer.BYTES + Long.BYTES;
+    }
+
+    private static long utfBytes(String value) {
+        long bytes = 2; // length prefix
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            bytes += (c >= 0x0001 && c <= 0x007F) ? 1 : (c <= 0x07FF ? 2 : 3);
+        }
+        return bytes;
+    }
+
+    private static String keyOf(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
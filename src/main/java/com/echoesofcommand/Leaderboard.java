@@ -0,0 +1,234 @@
+package com.echoesofcommand;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Leaderboard for one game mode, kept sorted as best scores change.
+ * Entries live in an order-statistic treap (each node knows its subtree size) ordered by
+ * score descending, then time ascending, then username; a hash index from username to the
+ * current entry makes an update a remove plus an insert. Updates, rank lookups and the
+ * start of a page are O(log n); reading a page of k entries costs O(log n + k).
+ */
+public final class Leaderboard {
+    private final Map<String, Entry> byUsername = new HashMap<>();
+    private Node root;
+
+    /**
+     * A ranked player.
+     * @param username The player.
+     * @param score The best score.
+     * @param timeMillis The time of the best score; lower ranks higher on equal scores.
+     */
+    public record Entry(String username, int score, long timeMillis) {
+    }
+
+    /**
+     * Sets a player's entry, replacing the previous one.
+     * @param username The player.
+     * @param score The best score.
+     * @param timeMillis The time of the best score.
+     */
+    public synchronized void update(String username, int score, long timeMillis) {
+        Entry entry = new Entry(username, score, timeMillis);
+        Entry previous = byUsername.put(username, entry);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+        root = insert(root, new Node(entry));
+    }
+
+    /**
+     * Removes a player from the leaderboard.
+     * @param username The player.
+     */
+    public synchronized void remove(String username) {
+        Entry previous = byUsername.remove(username);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+    }
+
+    /**
+     * Gets the best entries.
+     * @param k The maximum number of entries.
+     * @return Up to k entries, best first.
+     */
+    public List<Entry> top(int k) {
+        return page(0, k);
+    }
+
+    /**
+     * Gets a page of the leaderboard.
+     * @param offset The 0-based rank of the first entry.
+     * @param limit The maximum number of entries.
+     * @return Up to limit entries, best first.
+     */
+    public synchronized List<Entry> page(int offset, int limit) {
+        List<Entry> page = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        collect(root, Math.max(0, offset), limit, page);
+        return page;
+    }
+
+    /**
+     * Gets a player's rank.
+     * @param username The player.
+     * @return The 1-based rank, or -1 if the player is not on the leaderboard.
+     */
+    public synchronized int rankOf(String username) {
+        Entry entry = byUsername.get(username);
+        if (entry == null) {
+            return -1;
+        }
+        int rank = 1;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(entry, node.entry);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a player's entry.
+     * @param username The player.
+     * @return The entry, or null if the player is not on the leaderboard.
+     */
+    public synchronized Entry get(String username) {
+        return byUsername.get(username);
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private static int compare(Entry a, Entry b) {
+        int byScore = Integer.compare(b.score, a.score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byTime = Long.compare(a.timeMillis, b.timeMillis);
+        return byTime != 0 ? byTime : a.username.compareTo(b.username);
+    }
+
+    /**
+     * Appends the in-order entries with ranks [offset, offset + limit) of a subtree.
+     */
+    private static void collect(Node node, int offset, int limit, List<Entry> into) {
+        while (node != null && into.size() < limit) {
+            int leftSize = size(node.left);
+            if (offset < leftSize) {
+                collect(node.left, offset, limit, into);
+                if (into.size() >= limit) {
+                    return;
+                }
+                offset = 0;
+            } else {
+                offset -= leftSize;
+            }
+            if (offset == 0) {
+                into.add(node.entry);
+            } else {
+                offset--;
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] halves = split(node, added.entry);
+            added.left = halves[0];
+            added.right = halves[1];
+            return added.update();
+        }
+        if (compare(added.entry, node.entry) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return node.update();
+    }
+
+    private static Node remove(Node node, Entry entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(entry, node.entry);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else {
+            node.right = remove(node.right, entry);
+        }
+        return node.update();
+    }
+
+    /**
+     * Splits a subtree into the entries ordered before the key and the rest.
+     */
+    private static Node[] split(Node node, Entry key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node.entry, key) < 0) {
+            Node[] halves = split(node.right, key);
+            node.right = halves[0];
+            halves[0] = node.update();
+            return halves;
+        }
+        Node[] halves = split(node.left, key);
+        node.left = halves[1];
+        halves[1] = node.update();
+        return halves;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        final Entry entry;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Entry entry) {
+            this.entry = entry;
+        }
+
+        Node update() {
+            size = 1 + size(left) + size(right);
+            return this;
+        }
+    }
+}
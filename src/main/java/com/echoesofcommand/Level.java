@@ -3,6 +3,7 @@ package com.echoesofcommand;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a level in the game with a description, choices, and summary.
@@ -18,7 +19,7 @@ public class Level {
      * Default constructor for JSON deserialization.
      */
     public Level() {
-        this.choices = new ArrayList<>();
+        this.choices = List.of();
     }
 
     /**
@@ -32,7 +33,7 @@ public class Level {
     public Level(int number, String description, List<Choice> choices, String summary, String leaderName) {
         this.number = number;
         this.description = description;
-        this.choices = choices;
+        this.choices = List.copyOf(choices);
         this.summary = summary;
         this.leaderName = leaderName;
     }
@@ -55,10 +56,10 @@ public class Level {
 
     /**
      * Gets the list of choices.
-     * @return The choices.
+     * @return The choices, read-only.
      */
     public List<Choice> getChoices() {
-        return new ArrayList<>(choices);
+        return choices;
     }
 
     /**
@@ -78,9 +79,14 @@ public class Level {
     }
 
     /**
-     * Randomizes the order of the choices.
+     * Gets this level with its choices in random order, leaving this level unchanged so that
+     * levels shared through the {@link ScenarioCatalog} can be played concurrently.
+     * @param random The random generator to shuffle with.
+     * @return A copy with shuffled choices, or this level if the order did not change.
      */
-    public void randomizeChoices() {
-        Collections.shuffle(choices);
+    public Level withShuffledChoices(RandomGenerator random) {
+        List<Choice> shuffled = new ArrayList<>(choices);
+        Collections.shuffle(shuffled, random);
+        return shuffled.equals(choices) ? this : new Level(number, description, shuffled, summary, leaderName);
     }
 }
\ No newline at end of file
@@ -1,88 +1,33 @@
 package com.echoesofcommand;
 
-import java.util.List;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 /**
  * Main entry point for the Echoes of Command game.
  */
 public class Main {
-    private static final String LEADERS_FILE = "history.json";
+    // Set -Deoc.metrics=true to write metrics.prom while playing on the console; --server always does
+    private static final boolean EXPORT_METRICS = Boolean.getBoolean("eoc.metrics");
+    private static final long METRICS_INTERVAL_SECONDS = Long.getLong("eoc.metrics.intervalSec", 15);
 
     /**
      * Starts the game.
-     * @param args Command-line arguments (unused).
+     * @param args Command-line arguments: "--server [port [host]]" hosts sessions over TCP
+     *             instead of playing on the console.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            GameServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (EXPORT_METRICS) {
+            // Next to players.json and archive.journal, which the console also keeps in the working directory
+            Metrics.getInstance().startExport(Paths.get("metrics.prom"), METRICS_INTERVAL_SECONDS);
+        }
         ConsoleUI ui = new ConsoleUI();
         PlayerManager pm = new PlayerManager();
         ArchiveManager am = new ArchiveManager();
-        JsonLoader loader = new JsonLoader();
-
-        boolean running = true;
-        while (running) {
-            ui.displayWelcomeMessage();
-            ui.offerCourseMaterial();
-            // Player login
-            PlayerRecord player;
-            String username = ui.promptUsername();
-            player = pm.login(username);
-            ui.displayWelcomeForPlayer(player);
-            pm.recordLogin(player); // Record login after displaying welcome message
-
-            boolean userActive = true;
-            while (userActive) {
-                ui.searchDisabledNotice();
-                int mode = ui.promptPlayMode();
-                if (mode == 4) {
-                    userActive = false;
-                    running = false;
-                    break;
-                }
-
-                List<Leader> allLeaders;
-                try {
-                    allLeaders = loader.loadLeaders(LEADERS_FILE);
-                } catch (Exception e) {
-                    System.err.println("Error loading leaders: " + e.getMessage());
-                    System.out.println("Cannot start game without leaders. Please try again later.");
-                    break;
-                }
-
-                List<Leader> toPlay;
-                boolean sequential = false;
-                boolean randomized = false;
-                if (mode == 1) {
-                    toPlay = List.of(ui.selectLeader(allLeaders));
-                } else if (mode == 2) {
-                    toPlay = allLeaders;
-                    sequential = true;
-                } else {
-                    toPlay = allLeaders;
-                    randomized = true;
-                }
-
-                Game game = new Game(toPlay, ui, player, am, sequential, randomized);
-                game.start();
-
-                pm.save();
-
-                if (ui.promptArchiveSearch()) {
-                    am.promptSearch(ui);
-                }
-
-                int next = ui.promptPostRoundOption();
-                switch (next) {
-                    case 1 -> { /* replay with same username */ }
-                    case 2 -> userActive = false;
-                    case 3 -> ui.displayPlayerStats(player);
-                    case 4 -> {
-                        userActive = false;
-                        running = false;
-                    }
-                }
-            }
-            ui.displayLeaderboard(pm.leaderboard());
-        }
-        ui.displayGoodbyeMessage();
+        new GameSession(ui, pm, am).run();
     }
-}
\ No newline at end of file
+}
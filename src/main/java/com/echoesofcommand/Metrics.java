@@ -0,0 +1,345 @@
+package com.echoesofcommand;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of counters, gauges and latency histograms. Every metric is
+ * registered as a JMX MBean under the "eoc" domain when it is first used, and the whole
+ * registry can be written periodically as a Prometheus text file for the kiosk fleet's
+ * collector to pick up.
+ *
+ * <p>Metrics are identified by a dotted name plus optional label pairs, e.g.
+ * {@code histogram("navigation", "view", "Level")}. Asking for the same name and labels again
+ * returns the same metric, so call sites can look metrics up where they use them.
+ */
+public final class Metrics {
+    private static final Metrics INSTANCE = new Metrics();
+    private static final String DOMAIN = "eoc";
+
+    private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+    private ScheduledExecutorService exporter;
+
+    /**
+     * A monotonically increasing count.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        /**
+         * Adds one.
+         */
+        public void increment() {
+            value.increment();
+        }
+
+        /**
+         * Adds an amount.
+         * @param amount The amount, normally positive.
+         */
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        /**
+         * Gets the current count.
+         * @return The count.
+         */
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    private enum Kind { COUNTER, GAUGE, HISTOGRAM }
+
+    /**
+     * One registered metric: its identity plus the object holding its value.
+     */
+    private record Metric(Kind kind, String name, Map<String, String> labels, Object value) {
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Gets the shared registry.
+     * @return The process-wide registry.
+     */
+    public static Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets or creates a counter.
+     * @param name The dotted metric name.
+     * @param labels Label names and values, alternating.
+     * @return The counter.
+     */
+    public Counter counter(String name, String... labels) {
+        return (Counter) register(Kind.COUNTER, name, labels, Counter::new).value();
+    }
+
+    /**
+     * Gets or creates a latency histogram.
+     * @param name The dotted metric name.
+     * @param labels Label names and values, alternating.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(String name, String... labels) {
+        return (LatencyHistogram) register(Kind.HISTOGRAM, name, labels, LatencyHistogram::new).value();
+    }
+
+    /**
+     * Registers a gauge read from a supplier whenever it is exported. A gauge registered again
+     * under the same name and labels keeps its first supplier.
+     * @param name The dotted metric name.
+     * @param supplier Reads the current value; it must be cheap and thread-safe.
+     * @param labels Label names and values, alternating.
+     */
+    public void gauge(String name, DoubleSupplier supplier, String... labels) {
+        register(Kind.GAUGE, name, labels, () -> supplier);
+    }
+
+    private Metric register(Kind kind, String name, String[] labels, Supplier<Object> factory) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs: " + name);
+        }
+        Map<String, String> labelMap = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i += 2) {
+            labelMap.put(labels[i], labels[i + 1]);
+        }
+        String key = name + labelMap;
+        Metric metric = metrics.get(key);
+        if (metric != null) {
+            return metric;
+        }
+        return metrics.computeIfAbsent(key, k -> {
+            Metric created = new Metric(kind, name, Collections.unmodifiableMap(labelMap), factory.get());
+            registerMBean(created);
+            return created;
+        });
+    }
+
+    private static void registerMBean(Metric metric) {
+        StringBuilder objectName = new StringBuilder(DOMAIN).append(":type=")
+                .append(metric.kind().name().charAt(0)).append(metric.kind().name().substring(1).toLowerCase(Locale.ROOT))
+                .append(",name=").append(metric.name());
+        metric.labels().forEach((label, value) -> objectName.append(',').append(label).append('=').append(ObjectName.quote(value)));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricBean(metric), new ObjectName(objectName.toString()));
+        } catch (JMException | RuntimeException e) {
+            System.err.println("Warning: Metric " + objectName + " not exported over JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format. Names get an "eoc_"
+     * prefix with dots turned into underscores; histograms are written as summaries in seconds.
+     * @param out Where to write.
+     * @throws IOException If writing fails.
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        List<Metric> sorted = new ArrayList<>(metrics.values());
+        sorted.sort(Comparator.comparing(Metric::name).thenComparing(metric -> metric.labels().toString()));
+        String previousName = null;
+        for (Metric metric : sorted) {
+            String name = "eoc_" + metric.name().replace('.', '_') + switch (metric.kind()) {
+                case COUNTER -> "_total";
+                case HISTOGRAM -> "_seconds";
+                case GAUGE -> "";
+            };
+            if (!name.equals(previousName)) {
+                out.write("# TYPE " + name + " " + switch (metric.kind()) {
+                    case COUNTER -> "counter";
+                    case HISTOGRAM -> "summary";
+                    case GAUGE -> "gauge";
+                } + "\n");
+                previousName = name;
+            }
+            switch (metric.kind()) {
+                case COUNTER -> sample(out, name, metric.labels(), null, ((Counter) metric.value()).get());
+                case GAUGE -> sample(out, name, metric.labels(), null, ((DoubleSupplier) metric.value()).getAsDouble());
+                case HISTOGRAM -> {
+                    LatencyHistogram.Snapshot snapshot = ((LatencyHistogram) metric.value()).snapshot();
+                    sample(out, name, metric.labels(), "0.5", snapshot.p50Nanos() / 1e9);
+                    sample(out, name, metric.labels(), "0.9", snapshot.p90Nanos() / 1e9);
+                    sample(out, name, metric.labels(), "0.99", snapshot.p99Nanos() / 1e9);
+                    sample(out, name, metric.labels(), "0.999", snapshot.p999Nanos() / 1e9);
+                    sample(out, name + "_sum", metric.labels(), null, snapshot.sumNanos() / 1e9);
+                    sample(out, name + "_count", metric.labels(), null, snapshot.count());
+                }
+            }
+        }
+    }
+
+    private static void sample(Writer out, String name, Map<String, String> labels, String quantile, double value) throws IOException {
+        out.write(name);
+        if (!labels.isEmpty() || quantile != null) {
+            List<String> pairs = new ArrayList<>();
+            labels.forEach((label, labelValue) -> pairs.add(label + "=\"" + escape(labelValue) + "\""));
+            if (quantile != null) pairs.add("quantile=\"" + quantile + "\"");
+            out.write("{" + String.join(",", pairs) + "}");
+        }
+        out.write(' ');
+        out.write(value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value));
+        out.write('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Writes the Prometheus file now, replacing the previous one atomically so a collector
+     * never reads a half-written file.
+     * @param file The target file.
+     */
+    public void writePrometheusFile(Path file) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writePrometheus(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts writing the Prometheus file periodically on a daemon thread. Does nothing if
+     * the export is already running.
+     * @param file The target file.
+     * @param intervalSeconds Seconds between writes.
+     */
+    public synchronized void startExport(Path file, long intervalSeconds) {
+        if (exporter != null) {
+            return;
+        }
+        exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        exporter.scheduleWithFixedDelay(() -> writePrometheusFile(file), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writePrometheusFile(file), "metrics-final-export"));
+    }
+
+    /**
+     * Exposes one metric over JMX. Counters have a Count attribute, gauges a Value, and
+     * histograms Count, Mean, P50, P90, P99, P999 and Max in milliseconds.
+     */
+    private static final class MetricBean implements DynamicMBean {
+        private static final String[] HISTOGRAM_ATTRIBUTES = {"Count", "MeanMillis", "P50Millis", "P90Millis", "P99Millis", "P999Millis", "MaxMillis"};
+
+        private final Metric metric;
+
+        MetricBean(Metric metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            switch (metric.kind()) {
+                case COUNTER -> {
+                    if (attribute.equals("Count")) return ((Counter) metric.value()).get();
+                }
+                case GAUGE -> {
+                    if (attribute.equals("Value")) return ((DoubleSupplier) metric.value()).getAsDouble();
+                }
+                case HISTOGRAM -> {
+                    LatencyHistogram.Snapshot snapshot = ((LatencyHistogram) metric.value()).snapshot();
+                    switch (attribute) {
+                        case "Count": return snapshot.count();
+                        case "MeanMillis": return snapshot.meanNanos() / 1e6;
+                        case "P50Millis": return snapshot.p50Nanos() / 1e6;
+                        case "P90Millis": return snapshot.p90Nanos() / 1e6;
+                        case "P99Millis": return snapshot.p99Nanos() / 1e6;
+                        case "P999Millis": return snapshot.p999Nanos() / 1e6;
+                        case "MaxMillis": return snapshot.maxNanos() / 1e6;
+                        default: break;
+                    }
+                }
+            }
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException e) {
+                    // skipped, as the DynamicMBean contract allows
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException("No operations on metric " + metric.name());
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            switch (metric.kind()) {
+                case COUNTER -> attributes.add(attribute("Count", "long"));
+                case GAUGE -> attributes.add(attribute("Value", "double"));
+                case HISTOGRAM -> {
+                    for (String name : HISTOGRAM_ATTRIBUTES) {
+                        attributes.add(attribute(name, name.equals("Count") ? "long" : "double"));
+                    }
+                }
+            }
+            return new MBeanInfo(Metrics.class.getName(), metric.name(),
+                    attributes.toArray(MBeanAttributeInfo[]::new), null, null, null);
+        }
+
+        private static MBeanAttributeInfo attribute(String name, String type) {
+            return new MBeanAttributeInfo(name, type, name, true, false, false);
+        }
+    }
+}
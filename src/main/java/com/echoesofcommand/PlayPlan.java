@@ -0,0 +1,173 @@
+package com.echoesofcommand;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.random.RandomGenerator;
+
+/**
+ * The levels of one round, compiled once when the round starts into flat arrays:
+ * the level references in play order, the ordinal of each level's leader, the offsets where
+ * a new run of one leader's levels begins, and the index of each level's historical choice.
+ * Playing the round then only indexes into these arrays.
+ * @param <P> The leader type.
+ * @param <L> The level type.
+ */
+public final class PlayPlan<P, L> {
+    private final List<P> leaders;
+    private final Object[] levels;
+    private final int[] leaderOrdinals;
+    private final int[] runStarts;
+    private final byte[] historicalChoices;
+
+    private PlayPlan(List<P> leaders, Object[] levels, int[] leaderOrdinals, int[] runStarts, byte[] historicalChoices) {
+        this.leaders = leaders;
+        this.levels = levels;
+        this.leaderOrdinals = leaderOrdinals;
+        this.runStarts = runStarts;
+        this.historicalChoices = historicalChoices;
+    }
+
+    /**
+     * Compiles a console round.
+     * @param leaders The leaders to play, in order.
+     * @param shuffleLevels Whether to play the levels in random order.
+     * @param shuffleChoices Whether to show each level's choices in random order.
+     * @param random The generator to shuffle with; unused if nothing is shuffled.
+     * @return The plan.
+     */
+    public static PlayPlan<Leader, Level> compile(List<Leader> leaders, boolean shuffleLevels, boolean shuffleChoices, RandomGenerator random) {
+        UnaryOperator<Level> prepare = shuffleChoices ? level -> level.withShuffledChoices(random) : UnaryOperator.identity();
+        return compile(leaders, Leader::getLevels, prepare,
+                level -> historicalIndex(level.getChoices(), Choice::isHistorical), shuffleLevels ? random : null);
+    }
+
+    /**
+     * Compiles a GUI round.
+     * @param leaders The leaders to play, in order.
+     * @param shuffleLevels Whether to play the levels in random order.
+     * @param random The generator to shuffle with; unused if nothing is shuffled.
+     * @return The plan.
+     */
+    public static PlayPlan<eoc.ui.model.Leader, eoc.ui.model.Level> compileGui(List<eoc.ui.model.Leader> leaders, boolean shuffleLevels, RandomGenerator random) {
+        return compile(leaders, eoc.ui.model.Leader::getLevels, UnaryOperator.identity(),
+                level -> historicalIndex(level.getChoices(), eoc.ui.model.Choice::isHistorical), shuffleLevels ? random : null);
+    }
+
+    /**
+     * Gets the number of levels in the round.
+     * @return The level count.
+     */
+    public int size() {
+        return levels.length;
+    }
+
+    /**
+     * Gets a level.
+     * @param index The 0-based position in play order.
+     * @return The level, with its choices in display order.
+     */
+    @SuppressWarnings("unchecked")
+    public L level(int index) {
+        return (L) levels[index];
+    }
+
+    /**
+     * Gets the leader of a level.
+     * @param index The 0-based position in play order.
+     * @return The leader.
+     */
+    public P leader(int index) {
+        return leaders.get(leaderOrdinals[index]);
+    }
+
+    /**
+     * Gets the ordinal of the leader of a level.
+     * @param index The 0-based position in play order.
+     * @return The leader's index in the list the plan was compiled from.
+     */
+    public int leaderOrdinal(int index) {
+        return leaderOrdinals[index];
+    }
+
+    /**
+     * Gets the index of the historical choice of a level.
+     * @param index The 0-based position in play order.
+     * @return The 0-based choice index in display order, or -1 if no choice is historical.
+     */
+    public int historicalChoice(int index) {
+        return historicalChoices[index];
+    }
+
+    /**
+     * Gets the number of runs of consecutive levels with the same leader.
+     * @return The run count; the leader count unless levels are shuffled.
+     */
+    public int leaderRuns() {
+        return runStarts.length;
+    }
+
+    /**
+     * Gets the run a level belongs to.
+     * @param index The 0-based position in play order.
+     * @return The 0-based run index.
+     */
+    public int leaderRunOf(int index) {
+        int run = Arrays.binarySearch(runStarts, index);
+        return run >= 0 ? run : -run - 2;
+    }
+
+    private static <P, L> PlayPlan<P, L> compile(List<P> leaders, Function<P, List<L>> levelsOf, UnaryOperator<L> prepare,
+                                                 ToIntFunction<L> historicalChoiceOf, RandomGenerator shuffle) {
+        int total = 0;
+        for (P leader : leaders) {
+            total += levelsOf.apply(leader).size();
+        }
+        Object[] levels = new Object[total];
+        int[] ordinals = new int[total];
+        int position = 0;
+        for (int ordinal = 0; ordinal < leaders.size(); ordinal++) {
+            for (L level : levelsOf.apply(leaders.get(ordinal))) {
+                levels[position] = level;
+                ordinals[position++] = ordinal;
+            }
+        }
+        if (shuffle != null) {
+            for (int i = total - 1; i > 0; i--) {
+                int j = shuffle.nextInt(i + 1);
+                Object level = levels[i];
+                levels[i] = levels[j];
+                levels[j] = level;
+                int ordinal = ordinals[i];
+                ordinals[i] = ordinals[j];
+                ordinals[j] = ordinal;
+            }
+        }
+
+        byte[] historical = new byte[total];
+        int[] runStarts = new int[total];
+        int runs = 0;
+        for (int i = 0; i < total; i++) {
+            @SuppressWarnings("unchecked")
+            L level = prepare.apply((L) levels[i]);
+            levels[i] = level;
+            historical[i] = (byte) historicalChoiceOf.applyAsInt(level);
+            if (i == 0 || ordinals[i] != ordinals[i - 1]) {
+                runStarts[runs++] = i;
+            }
+        }
+        return new PlayPlan<>(leaders, levels, ordinals, Arrays.copyOf(runStarts, runs), historical);
+    }
+
+    private static <C> int historicalIndex(List<C> choices, Predicate<C> isHistorical) {
+        for (int i = 0; i < choices.size() && i < Byte.MAX_VALUE; i++) {
+            if (isHistorical.test(choices.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
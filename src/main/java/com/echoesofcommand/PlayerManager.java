@@ -1,25 +1,48 @@
 package com.echoesofcommand;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import java.io.*;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Manages player records, including login and leaderboard functionality.
+ * Each mode has a {@link Leaderboard} that is updated per session instead of re-sorted.
+ * One manager is shared by every session of a {@link GameServer}; records live in a
+ * concurrent map and update themselves atomically, so sessions never wait on each other.
  */
 public class PlayerManager {
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(PlayerRecord.class, new RecordAdapter())
+            .create();
+
     private final Map<String, PlayerRecord> records;
+    private final Map<GameMode, Leaderboard> leaderboards = new EnumMap<>(GameMode.class);
+    private final AtomicInteger pendingSaves = new AtomicInteger();
     private static final String PLAYER_FILE = "players.json";
 
     /**
-     * Creates a new PlayerManager, loading existing player records from file.
+     * Creates a new PlayerManager, loading existing player records from file
+     * and ranking them on the per-mode leaderboards.
      */
     public PlayerManager() {
-        records = load();
+        records = new ConcurrentHashMap<>(load());
+        for (GameMode mode : GameMode.values()) {
+            leaderboards.put(mode, new Leaderboard());
+        }
+        for (PlayerRecord player : records.values()) {
+            updateRankings(player);
+        }
     }
 
     /**
@@ -28,12 +51,7 @@ public class PlayerManager {
      * @return The player's record.
      */
     public PlayerRecord login(String username) {
-        PlayerRecord player = records.get(username);
-        if (player == null) {
-            player = new PlayerRecord(username, "");
-            records.put(username, player);
-        }
-        return player;
+        return records.computeIfAbsent(username, name -> new PlayerRecord(name, ""));
     }
 
     /**
@@ -45,53 +63,88 @@ public class PlayerManager {
     }
 
     /**
-     * Saves player records to a JSON file.
+     * Saves player records to a JSON file. When other sessions ask for a save while one is
+     * being written, the writer writes once more afterwards instead of every caller writing.
      */
     public void save() {
-        try (Writer writer = new FileWriter(PLAYER_FILE)) {
-            new Gson().toJson(records.values(), writer);
-        } catch (IOException e) {
-            System.err.println("Warning: Failed to save players: " + e.getMessage());
+        if (pendingSaves.getAndIncrement() != 0) {
+            return;
         }
+        int handled;
+        do {
+            handled = pendingSaves.get();
+            long start = System.nanoTime();
+            GameEvents.PlayerStatsUpdate event = new GameEvents.PlayerStatsUpdate();
+            event.begin();
+            List<PlayerRecord> snapshot = new ArrayList<>(records.values());
+            try (Writer writer = new FileWriter(PLAYER_FILE)) {
+                GSON.toJson(snapshot, new TypeToken<List<PlayerRecord>>() {}.getType(), writer);
+            } catch (IOException e) {
+                System.err.println("Warning: Failed to save players: " + e.getMessage());
+            }
+            Metrics.getInstance().histogram("persistence.write", "target", "players.save").recordSince(start);
+            if (event.shouldCommit()) {
+                event.target = "players.save";
+                event.players = snapshot.size();
+                event.bytesWritten = new File(PLAYER_FILE).length();
+                event.commit();
+            }
+        } while (pendingSaves.addAndGet(-handled) != 0);
     }
 
     /**
-     * Generates the leaderboard, sorted by scores and times.
-     * @return The list of player records, sorted.
+     * Re-ranks a player on every mode's leaderboard after a session was recorded.
+     * When another session improves the same record meanwhile, the newer best is
+     * ranked too, so a slower caller never leaves an outdated entry behind.
+     * @param player The player whose best scores may have changed.
      */
-    public List<PlayerRecord> leaderboard() {
-        List<PlayerRecord> list = new ArrayList<>(records.values());
-
-        // Sort by single-leader score, then time
-        list.sort((a, b) -> {
-            int scoreCompare = Integer.compare(b.getBestSingleScore(), a.getBestSingleScore());
-            if (scoreCompare != 0) {
-                return scoreCompare;
-            }
-            return Long.compare(a.getBestSingleTimeMillis(), b.getBestSingleTimeMillis());
-        });
-
-        // Sort by sequential score, then time (in-place, after single-leader sort)
-        list.sort((a, b) -> {
-            int scoreCompare = Integer.compare(b.getBestSequentialScore(), a.getBestSequentialScore());
-            if (scoreCompare != 0) {
-                return scoreCompare;
+    public void updateRankings(PlayerRecord player) {
+        for (GameMode mode : GameMode.values()) {
+            Leaderboard leaderboard = leaderboards.get(mode);
+            PlayerRecord.Best best = player.getBest(mode);
+            while (true) {
+                if (best.score() > 0) {
+                    leaderboard.update(player.getUsername(), best.score(), best.timeMillis());
+                } else {
+                    leaderboard.remove(player.getUsername());
+                }
+                PlayerRecord.Best latest = player.getBest(mode);
+                if (latest.equals(best)) {
+                    break;
+                }
+                best = latest;
             }
-            return Long.compare(a.getBestSequentialTimeMillis(), b.getBestSequentialTimeMillis());
-        });
+        }
+    }
 
-        // Sort by randomized score, then time (in-place, after sequential sort)
-        list.sort((a, b) -> {
-            int scoreCompare = Integer.compare(b.getBestRandomizedScore(), a.getBestRandomizedScore());
-            if (scoreCompare != 0) {
-                return scoreCompare;
+    /**
+     * Gets the best players of a mode, sorted by score and then time.
+     * Only players with a positive score in that mode are ranked.
+     * @param mode The game mode.
+     * @param limit The maximum number of players.
+     * @return Up to limit player records, best first.
+     */
+    public List<PlayerRecord> leaderboard(GameMode mode, int limit) {
+        List<PlayerRecord> list = new ArrayList<>();
+        for (Leaderboard.Entry entry : leaderboards.get(mode).top(limit)) {
+            PlayerRecord player = records.get(entry.username());
+            if (player != null) {
+                list.add(player);
             }
-            return Long.compare(a.getBestRandomizedTimeMillis(), b.getBestRandomizedTimeMillis());
-        });
-
+        }
         return list;
     }
 
+    /**
+     * Gets a player's rank in a mode.
+     * @param player The player.
+     * @param mode The game mode.
+     * @return The 1-based rank, or -1 if the player has no score in that mode.
+     */
+    public int rankOf(PlayerRecord player, GameMode mode) {
+        return leaderboards.get(mode).rankOf(player.getUsername());
+    }
+
     /**
      * Loads player records from a JSON file.
      * @return The map of usernames to player records.
@@ -102,11 +155,10 @@ public class PlayerManager {
             return new HashMap<>();
         }
         try (Reader reader = new FileReader(file)) {
-            Gson gson = new Gson();
             // First, try to load as a List<PlayerRecord> (new format)
             try {
                 Type listType = new TypeToken<List<PlayerRecord>>() {}.getType();
-                List<PlayerRecord> list = gson.fromJson(reader, listType);
+                List<PlayerRecord> list = GSON.fromJson(reader, listType);
                 if (list != null) {
                     return list.stream()
                             .collect(Collectors.toMap(PlayerRecord::getUsername, p -> p));
@@ -116,7 +168,7 @@ public class PlayerManager {
                 reader.close();
                 try (Reader reader2 = new FileReader(file)) {
                     Type mapType = new TypeToken<Map<String, PlayerRecord>>() {}.getType();
-                    Map<String, PlayerRecord> map = gson.fromJson(reader2, mapType);
+                    Map<String, PlayerRecord> map = GSON.fromJson(reader2, mapType);
                     if (map != null) {
                         return map;
                     }
@@ -128,4 +180,92 @@ public class PlayerManager {
             return new HashMap<>();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads and writes records in the players.json layout, one field per best score, time
+     * and total, which predates the atomic fields that back them now.
+     */
+    private static final class RecordAdapter extends TypeAdapter<PlayerRecord> {
+        @Override
+        public void write(JsonWriter out, PlayerRecord player) throws IOException {
+            if (player == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("username").value(player.getUsername());
+            out.name("password").value(player.getPassword());
+            out.name("bestSingleScore").value(player.getBestSingleScore());
+            out.name("bestSingleTimeMillis").value(player.getBestSingleTimeMillis());
+            out.name("bestSequentialScore").value(player.getBestSequentialScore());
+            out.name("bestSequentialTimeMillis").value(player.getBestSequentialTimeMillis());
+            out.name("bestRandomizedScore").value(player.getBestRandomizedScore());
+            out.name("bestRandomizedTimeMillis").value(player.getBestRandomizedTimeMillis());
+            out.name("loginHistory").beginArray();
+            for (long login : player.getLoginHistory()) {
+                out.value(login);
+            }
+            out.endArray();
+            out.name("totalLevelsPlayed").value(player.getTotalLevelsPlayed());
+            out.name("totalCorrectChoices").value(player.getTotalCorrectChoices());
+            out.name("totalTimeMillis").value(player.getTotalTimeMillis());
+            out.endObject();
+        }
+
+        @Override
+        public PlayerRecord read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String username = null;
+            String password = null;
+            int[] scores = new int[3];
+            long[] times = new long[3];
+            List<Long> logins = new ArrayList<>();
+            int levels = 0;
+            int correct = 0;
+            long time = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "username" -> username = in.nextString();
+                    case "password" -> password = in.nextString();
+                    case "bestSingleScore" -> scores[0] = in.nextInt();
+                    case "bestSingleTimeMillis" -> times[0] = in.nextLong();
+                    case "bestSequentialScore" -> scores[1] = in.nextInt();
+                    case "bestSequentialTimeMillis" -> times[1] = in.nextLong();
+                    case "bestRandomizedScore" -> scores[2] = in.nextInt();
+                    case "bestRandomizedTimeMillis" -> times[2] = in.nextLong();
+                    case "loginHistory" -> {
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            logins.add(in.nextLong());
+                        }
+                        in.endArray();
+                    }
+                    case "totalLevelsPlayed" -> levels = in.nextInt();
+                    case "totalCorrectChoices" -> correct = in.nextInt();
+                    case "totalTimeMillis" -> time = in.nextLong();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            PlayerRecord player = new PlayerRecord(username, password);
+            player.recordSession(scores[0], times[0], false, false);
+            player.recordSession(scores[1], times[1], true, false);
+            player.recordSession(scores[2], times[2], true, true);
+            for (long login : logins) {
+                player.addLogin(login);
+            }
+            player.updateStatistics(levels, correct, time);
+            return player;
+        }
+    }
+}
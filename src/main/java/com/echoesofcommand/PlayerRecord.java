@@ -2,23 +2,34 @@ package com.echoesofcommand;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents a player's record, including scores, statistics, and login history.
  */
 public class PlayerRecord {
-    private String username;
-    private String password;
-    private int bestSingleScore;
-    private long bestSingleTimeMillis;
-    private int bestSequentialScore;
-    private long bestSequentialTimeMillis;
-    private int bestRandomizedScore;
-    private long bestRandomizedTimeMillis;
-    private List<Long> loginHistory;
-    private int totalLevelsPlayed;
-    private int totalCorrectChoices;
-    private long totalTimeMillis;
+    private static final long TIME_MASK = 0xFFFFFFFFL;
+
+    private final String username;
+    private final String password;
+    // Best score and time of each mode packed into one long (see pack), so a new best is a single CAS
+    private final AtomicLong bestSingle = new AtomicLong(pack(0, 0));
+    private final AtomicLong bestSequential = new AtomicLong(pack(0, 0));
+    private final AtomicLong bestRandomized = new AtomicLong(pack(0, 0));
+    private final List<Long> loginHistory = new CopyOnWriteArrayList<>();
+    private final LongAdder totalLevelsPlayed = new LongAdder();
+    private final LongAdder totalCorrectChoices = new LongAdder();
+    private final LongAdder totalTimeMillis = new LongAdder();
+
+    /**
+     * A best result.
+     * @param score The best score.
+     * @param timeMillis The time of the best score in milliseconds.
+     */
+    public record Best(int score, long timeMillis) {
+    }
 
     /**
      * Creates a new player record.
@@ -28,16 +39,6 @@ public class PlayerRecord {
     public PlayerRecord(String username, String password) {
         this.username = username;
         this.password = password;
-        this.bestSingleScore = 0;
-        this.bestSingleTimeMillis = 0;
-        this.bestSequentialScore = 0;
-        this.bestSequentialTimeMillis = 0;
-        this.bestRandomizedScore = 0;
-        this.bestRandomizedTimeMillis = 0;
-        this.loginHistory = new ArrayList<>();
-        this.totalLevelsPlayed = 0;
-        this.totalCorrectChoices = 0;
-        this.totalTimeMillis = 0;
     }
 
     /**
@@ -61,7 +62,7 @@ public class PlayerRecord {
      * @return The best score.
      */
     public int getBestSingleScore() {
-        return bestSingleScore;
+        return scoreOf(bestSingle.get());
     }
 
     /**
@@ -69,7 +70,7 @@ public class PlayerRecord {
      * @return The best time in milliseconds.
      */
     public long getBestSingleTimeMillis() {
-        return bestSingleTimeMillis;
+        return timeOf(bestSingle.get());
     }
 
     /**
@@ -77,7 +78,7 @@ public class PlayerRecord {
      * @return The best score.
      */
     public int getBestSequentialScore() {
-        return bestSequentialScore;
+        return scoreOf(bestSequential.get());
     }
 
     /**
@@ -85,7 +86,7 @@ public class PlayerRecord {
      * @return The best time in milliseconds.
      */
     public long getBestSequentialTimeMillis() {
-        return bestSequentialTimeMillis;
+        return timeOf(bestSequential.get());
     }
 
     /**
@@ -93,7 +94,7 @@ public class PlayerRecord {
      * @return The best score.
      */
     public int getBestRandomizedScore() {
-        return bestRandomizedScore;
+        return scoreOf(bestRandomized.get());
     }
 
     /**
@@ -101,7 +102,17 @@ public class PlayerRecord {
      * @return The best time in milliseconds.
      */
     public long getBestRandomizedTimeMillis() {
-        return bestRandomizedTimeMillis;
+        return timeOf(bestRandomized.get());
+    }
+
+    /**
+     * Gets the best score of a mode together with its time, read atomically.
+     * @param mode The game mode.
+     * @return The best result.
+     */
+    public Best getBest(GameMode mode) {
+        long best = bestOf(mode).get();
+        return new Best(scoreOf(best), timeOf(best));
     }
 
     /**
@@ -117,7 +128,9 @@ public class PlayerRecord {
      * @return The last login timestamp, or null if none.
      */
     public Long getLastLogin() {
-        return loginHistory.isEmpty() ? null : loginHistory.get(loginHistory.size() - 1);
+        // Logins are only ever appended, so the last index stays valid
+        int size = loginHistory.size();
+        return size == 0 ? null : loginHistory.get(size - 1);
     }
 
     /**
@@ -136,22 +149,7 @@ public class PlayerRecord {
      * @param randomized True if randomized mode.
      */
     public void recordSession(int score, long timeMillis, boolean sequential, boolean randomized) {
-        if (randomized) {
-            if (score > bestRandomizedScore || (score == bestRandomizedScore && timeMillis < bestRandomizedTimeMillis)) {
-                bestRandomizedScore = score;
-                bestRandomizedTimeMillis = timeMillis;
-            }
-        } else if (sequential) {
-            if (score > bestSequentialScore || (score == bestSequentialScore && timeMillis < bestSequentialTimeMillis)) {
-                bestSequentialScore = score;
-                bestSequentialTimeMillis = timeMillis;
-            }
-        } else {
-            if (score > bestSingleScore || (score == bestSingleScore && timeMillis < bestSingleTimeMillis)) {
-                bestSingleScore = score;
-                bestSingleTimeMillis = timeMillis;
-            }
-        }
+        bestOf(GameMode.of(sequential, randomized)).accumulateAndGet(pack(score, timeMillis), Math::max);
     }
 
     /**
@@ -161,9 +159,9 @@ public class PlayerRecord {
      * @param timeMillis The time taken in milliseconds.
      */
     public void updateStatistics(int levelsPlayed, int correctChoices, long timeMillis) {
-        this.totalLevelsPlayed += levelsPlayed;
-        this.totalCorrectChoices += correctChoices;
-        this.totalTimeMillis += timeMillis;
+        totalLevelsPlayed.add(levelsPlayed);
+        totalCorrectChoices.add(correctChoices);
+        totalTimeMillis.add(timeMillis);
     }
 
     /**
@@ -171,7 +169,23 @@ public class PlayerRecord {
      * @return The total levels played.
      */
     public int getTotalLevelsPlayed() {
-        return totalLevelsPlayed;
+        return (int) totalLevelsPlayed.sum();
+    }
+
+    /**
+     * Gets the total correct choices.
+     * @return The total correct choices.
+     */
+    public long getTotalCorrectChoices() {
+        return totalCorrectChoices.sum();
+    }
+
+    /**
+     * Gets the total time played.
+     * @return The total time in milliseconds.
+     */
+    public long getTotalTimeMillis() {
+        return totalTimeMillis.sum();
     }
 
     /**
@@ -179,7 +193,8 @@ public class PlayerRecord {
      * @return The accuracy as a percentage.
      */
     public double getAccuracy() {
-        return totalLevelsPlayed == 0 ? 0 : (double) totalCorrectChoices / totalLevelsPlayed * 100;
+        long levels = totalLevelsPlayed.sum();
+        return levels == 0 ? 0 : (double) totalCorrectChoices.sum() / levels * 100;
     }
 
     /**
@@ -187,6 +202,32 @@ public class PlayerRecord {
      * @return The average time in seconds.
      */
     public double getAverageTimePerLevel() {
-        return totalLevelsPlayed == 0 ? 0 : (double) totalTimeMillis / totalLevelsPlayed / 1000;
+        long levels = totalLevelsPlayed.sum();
+        return levels == 0 ? 0 : (double) totalTimeMillis.sum() / levels / 1000;
+    }
+
+    private AtomicLong bestOf(GameMode mode) {
+        return switch (mode) {
+            case SINGLE -> bestSingle;
+            case SEQUENTIAL -> bestSequential;
+            case RANDOM -> bestRandomized;
+        };
+    }
+
+    /**
+     * Packs a result so that a better result is a larger long: the score in the high
+     * 32 bits, the complement of the time (capped at 2^32 - 1 ms) in the low 32 bits.
+     */
+    private static long pack(int score, long timeMillis) {
+        long time = Math.min(Math.max(timeMillis, 0), TIME_MASK);
+        return ((long) score << 32) | (TIME_MASK - time);
+    }
+
+    private static int scoreOf(long best) {
+        return (int) (best >> 32);
+    }
+
+    private static long timeOf(long best) {
+        return TIME_MASK - (best & TIME_MASK);
     }
 }
\ No newline at end of file
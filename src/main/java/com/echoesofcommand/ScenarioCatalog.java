@@ -0,0 +1,194 @@
+package com.echoesofcommand;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide, load-once cache of the scenario resources (history.json, history-ar.json).
+ * Each resource is parsed a single time and shared, read-only, by the GUI and console engines.
+ * A precompiled {@link ScenarioPack} is preferred when the build compiled one from the current JSON;
+ * the JSON is parsed when there is no pack or the pack is stale.
+ */
+public final class ScenarioCatalog {
+    private static final ScenarioCatalog INSTANCE = new ScenarioCatalog();
+
+    private final ConcurrentMap<String, Scenarios> cache = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loadTimeNanos = new AtomicLong();
+
+    private ScenarioCatalog() {
+        Metrics.getInstance().gauge("scenario.cache.hits", hits::get);
+        Metrics.getInstance().gauge("scenario.cache.misses", misses::get);
+    }
+
+    /**
+     * Gets the shared catalog instance.
+     * @return The process-wide catalog.
+     */
+    public static ScenarioCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the leaders of a resource in the GUI model, parsing it on first use.
+     * @param resourcePath The scenario resource, e.g. "history.json".
+     * @return An unmodifiable list of leaders.
+     * @throws IllegalArgumentException If the resource is not found.
+     * @throws IllegalStateException If the JSON is invalid or empty.
+     */
+    public List<eoc.ui.model.Leader> guiLeaders(String resourcePath) {
+        return scenarios(resourcePath).guiLeaders;
+    }
+
+    /**
+     * Finds a leader of a resource in the GUI model by name.
+     * @param resourcePath The scenario resource, e.g. "history.json".
+     * @param name The leader's name.
+     * @return The leader, or null if the resource has no leader with that name.
+     * @throws IllegalArgumentException If the resource is not found.
+     * @throws IllegalStateException If the JSON is invalid or empty.
+     */
+    public eoc.ui.model.Leader guiLeader(String resourcePath, String name) {
+        return scenarios(resourcePath).guiLeadersByName.get(name);
+    }
+
+    /**
+     * Gets the leaders of a resource in the console model, parsing it on first use.
+     * @param resourcePath The scenario resource, e.g. "history.json".
+     * @return An unmodifiable list of leaders.
+     * @throws IllegalArgumentException If the resource is not found.
+     * @throws IllegalStateException If the JSON is invalid or empty.
+     */
+    public List<Leader> leaders(String resourcePath) {
+        return scenarios(resourcePath).leaders;
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that had to parse a resource.
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the total time spent parsing resources.
+     * @return The load time in nanoseconds.
+     */
+    public long getLoadTimeNanos() {
+        return loadTimeNanos.get();
+    }
+
+    private Scenarios scenarios(String resourcePath) {
+        Scenarios cached = cache.get(resourcePath);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        return cache.computeIfAbsent(resourcePath, this::load);
+    }
+
+    private Scenarios load(String resourcePath) {
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        Scenarios scenarios = loadPack(resourcePath);
+        String source = ScenarioPack.packNameFor(resourcePath);
+        if (scenarios == null) {
+            scenarios = loadJson(resourcePath);
+            source = resourcePath;
+        }
+        long elapsed = Metrics.getInstance().histogram("scenario.load", "resource", resourcePath).recordSince(start);
+        loadTimeNanos.addAndGet(elapsed);
+        System.out.printf("ScenarioCatalog: Loaded %d leaders from %s in %.2f ms%n",
+                scenarios.guiLeaders.size(), source, elapsed / 1_000_000.0);
+        return scenarios;
+    }
+
+    private Scenarios loadPack(String resourcePath) {
+        try {
+            ScenarioPack pack = ScenarioPack.openForResource(resourcePath);
+            if (pack == null || pack.getLeaderCount() == 0) {
+                return null;
+            }
+            return new Scenarios(pack.guiLeaders(), pack.leaders());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Ignoring scenario pack for " + resourcePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Scenarios loadJson(String resourcePath) {
+        try (InputStream input = ScenarioCatalog.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Resource not found: " + resourcePath);
+            }
+            List<eoc.ui.model.Leader> guiLeaders = mapper.readValue(input, new TypeReference<List<eoc.ui.model.Leader>>() {});
+            if (guiLeaders == null || guiLeaders.isEmpty()) {
+                throw new IllegalStateException("No leaders found in " + resourcePath);
+            }
+            for (int ordinal = 0; ordinal < guiLeaders.size(); ordinal++) {
+                eoc.ui.model.Leader leader = guiLeaders.get(ordinal);
+                for (eoc.ui.model.Level level : leader.getLevels()) {
+                    level.attachLeader(leader, ordinal);
+                }
+            }
+            return new Scenarios(List.copyOf(guiLeaders), toConsoleModel(guiLeaders));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error loading " + resourcePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<Leader> toConsoleModel(List<eoc.ui.model.Leader> guiLeaders) {
+        List<Leader> leaders = new ArrayList<>(guiLeaders.size());
+        for (eoc.ui.model.Leader source : guiLeaders) {
+            List<Level> levels = new ArrayList<>(source.getLevels().size());
+            for (eoc.ui.model.Level level : source.getLevels()) {
+                List<Choice> choices = new ArrayList<>(level.getChoices().size());
+                for (eoc.ui.model.Choice choice : level.getChoices()) {
+                    choices.add(new Choice(choice.getText(), choice.isHistorical()));
+                }
+                levels.add(new Level(level.getNumber(), level.getDescription(), List.copyOf(choices), level.getSummary(), source.getName()));
+            }
+            leaders.add(new Leader(source.getName(), source.getBackstory(), List.copyOf(levels)));
+        }
+        return List.copyOf(leaders);
+    }
+
+    private record Scenarios(List<eoc.ui.model.Leader> guiLeaders, List<Leader> leaders,
+                             Map<String, eoc.ui.model.Leader> guiLeadersByName) {
+        Scenarios(List<eoc.ui.model.Leader> guiLeaders, List<Leader> leaders) {
+            this(guiLeaders, leaders, indexByName(guiLeaders));
+        }
+
+        private static Map<String, eoc.ui.model.Leader> indexByName(List<eoc.ui.model.Leader> leaders) {
+            Map<String, eoc.ui.model.Leader> byName = new HashMap<>(leaders.size() * 2);
+            for (eoc.ui.model.Leader leader : leaders) {
+                if (leader.getName() != null) {
+                    byName.putIfAbsent(leader.getName(), leader);
+                }
+            }
+            return Collections.unmodifiableMap(byName);
+        }
+    }
+}
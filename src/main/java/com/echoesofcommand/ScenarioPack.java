@@ -0,0 +1,283 @@
+package com.echoesofcommand;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view over a precompiled binary scenario pack (see {@link ScenarioPackCompiler}).
+ * The pack is memory-mapped and levels are decoded on first access, so opening it costs
+ * the same no matter how many levels it holds.
+ *
+ * <p>Layout (big-endian ints):
+ * <pre>
+ * header   magic, version, stringCount, leaderCount, levelCount, choiceCount,
+ *          stringOffsetsPos, stringDataPos, leadersPos, levelsPos, choicesPos,
+ *          sourceLength, sourceCrc32
+ * strings  int[stringCount + 1] offsets into a UTF-8 blob
+ * leaders  name, backstory, firstLevel, levelCount
+ * levels   number, leader, description, summary, firstChoice, choiceCount
+ * choices  text, historical (0/1)
+ * </pre>
+ * String fields are indexes into the string table. The length and CRC-32 of the JSON the
+ * pack was compiled from let a stale pack be detected when the JSON has been edited since.
+ */
+public final class ScenarioPack {
+    static final int MAGIC = 0x454F4350; // "EOCP"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 13 * Integer.BYTES;
+    static final int LEADER_BYTES = 4 * Integer.BYTES;
+    static final int LEVEL_BYTES = 6 * Integer.BYTES;
+    static final int CHOICE_BYTES = 2 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int leaderCount;
+    private final int levelCount;
+    private final int stringOffsetsPos;
+    private final int stringDataPos;
+    private final int leadersPos;
+    private final int levelsPos;
+    private final int choicesPos;
+    private final int sourceLength;
+    private final int sourceCrc;
+
+    private ScenarioPack(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a version " + VERSION + " scenario pack");
+        }
+        this.buffer = buffer;
+        this.leaderCount = buffer.getInt(12);
+        this.levelCount = buffer.getInt(16);
+        this.stringOffsetsPos = buffer.getInt(24);
+        this.stringDataPos = buffer.getInt(28);
+        this.leadersPos = buffer.getInt(32);
+        this.levelsPos = buffer.getInt(36);
+        this.choicesPos = buffer.getInt(40);
+        this.sourceLength = buffer.getInt(44);
+        this.sourceCrc = buffer.getInt(48);
+    }
+
+    /**
+     * Opens the pack compiled from a JSON scenario resource, if one was built from the JSON
+     * that is on the classpath now.
+     * @param jsonResourcePath The JSON resource, e.g. "history.json".
+     * @return The mapped pack, or null if no pack is on the classpath or it is stale.
+     * @throws IOException If the pack exists but cannot be mapped.
+     */
+    public static ScenarioPack openForResource(String jsonResourcePath) throws IOException {
+        ClassLoader loader = ScenarioPack.class.getClassLoader();
+        URL url = loader.getResource(packNameFor(jsonResourcePath));
+        if (url == null) {
+            return null;
+        }
+        ScenarioPack pack = map(toFile(url));
+        try (InputStream json = loader.getResourceAsStream(jsonResourcePath)) {
+            if (json != null && !pack.isCompiledFrom(json.readAllBytes())) {
+                System.err.println("Warning: " + packNameFor(jsonResourcePath) + " is older than "
+                        + jsonResourcePath + "; rebuild to recompile it");
+                return null;
+            }
+        }
+        return pack;
+    }
+
+    /**
+     * Checks whether the pack was compiled from the given JSON.
+     * @param json The JSON source bytes.
+     * @return True if their length and CRC-32 match the ones recorded in the pack.
+     */
+    public boolean isCompiledFrom(byte[] json) {
+        return json.length == sourceLength && checksum(json) == sourceCrc;
+    }
+
+    static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Maps a pack file into memory.
+     * @param file The pack file.
+     * @return The mapped pack.
+     * @throws IOException If the file cannot be read.
+     */
+    public static ScenarioPack map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ScenarioPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Gets the pack file name for a JSON scenario resource.
+     * @param jsonResourcePath The JSON resource, e.g. "history.json".
+     * @return The pack name, e.g. "history.pack".
+     */
+    public static String packNameFor(String jsonResourcePath) {
+        int dot = jsonResourcePath.lastIndexOf('.');
+        return (dot >= 0 ? jsonResourcePath.substring(0, dot) : jsonResourcePath) + ".pack";
+    }
+
+    private static Path toFile(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return Path.of(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException("Bad pack location: " + url, e);
+            }
+        }
+        // Packaged inside a jar or runtime image: a mapping needs a real file. One copy per pack
+        // name is kept in the temp directory and reused while its bytes match the packaged pack.
+        byte[] bytes;
+        try (InputStream input = url.openStream()) {
+            bytes = input.readAllBytes();
+        }
+        String name = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+        Path copy = Path.of(System.getProperty("java.io.tmpdir"), "eoc-" + name);
+        if (Files.isRegularFile(copy) && Files.size(copy) == bytes.length && Arrays.equals(Files.readAllBytes(copy), bytes)) {
+            return copy;
+        }
+        Path tmp = Files.createTempFile(copy.getParent(), "eoc-" + name, ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return copy;
+    }
+
+    public int getLeaderCount() {
+        return leaderCount;
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * Builds the GUI model. Leader names and backstories are decoded now, levels on first access,
+     * already attached to their leader.
+     * @return An unmodifiable list of leaders.
+     */
+    public List<eoc.ui.model.Leader> guiLeaders() {
+        List<eoc.ui.model.Leader> leaders = new ArrayList<>(leaderCount);
+        for (int i = 0; i < leaderCount; i++) {
+            int first = leaderInt(i, 2);
+            int ordinal = i;
+            leaders.add(new eoc.ui.model.Leader(leaderName(i), string(leaderInt(i, 1)),
+                    new LazyList<>(leaderInt(i, 3), index -> guiLevel(first + index, leaders.get(ordinal), ordinal))));
+        }
+        return List.copyOf(leaders);
+    }
+
+    /**
+     * Builds the console model. Leader names and backstories are decoded now, levels on first access.
+     * @return An unmodifiable list of leaders.
+     */
+    public List<Leader> leaders() {
+        List<Leader> leaders = new ArrayList<>(leaderCount);
+        for (int i = 0; i < leaderCount; i++) {
+            int first = leaderInt(i, 2);
+            String name = leaderName(i);
+            leaders.add(new Leader(name, string(leaderInt(i, 1)),
+                    new LazyList<>(leaderInt(i, 3), index -> level(first + index, name))));
+        }
+        return List.copyOf(leaders);
+    }
+
+    private String leaderName(int leader) {
+        return string(leaderInt(leader, 0));
+    }
+
+    private eoc.ui.model.Level guiLevel(int level, eoc.ui.model.Leader leader, int leaderOrdinal) {
+        int firstChoice = levelInt(level, 4);
+        int choiceCount = levelInt(level, 5);
+        List<eoc.ui.model.Choice> choices = new ArrayList<>(choiceCount);
+        for (int c = firstChoice; c < firstChoice + choiceCount; c++) {
+            choices.add(new eoc.ui.model.Choice(string(choiceInt(c, 0)), choiceInt(c, 1) != 0));
+        }
+        eoc.ui.model.Level decoded = new eoc.ui.model.Level(levelInt(level, 0), string(levelInt(level, 2)), choices, string(levelInt(level, 3)));
+        decoded.attachLeader(leader, leaderOrdinal);
+        return decoded;
+    }
+
+    private Level level(int level, String leaderName) {
+        int firstChoice = levelInt(level, 4);
+        int choiceCount = levelInt(level, 5);
+        List<Choice> choices = new ArrayList<>(choiceCount);
+        for (int c = firstChoice; c < firstChoice + choiceCount; c++) {
+            choices.add(new Choice(string(choiceInt(c, 0)), choiceInt(c, 1) != 0));
+        }
+        return new Level(levelInt(level, 0), string(levelInt(level, 2)), List.copyOf(choices), string(levelInt(level, 3)), leaderName);
+    }
+
+    private int leaderInt(int leader, int field) {
+        return buffer.getInt(leadersPos + leader * LEADER_BYTES + field * Integer.BYTES);
+    }
+
+    private int levelInt(int level, int field) {
+        return buffer.getInt(levelsPos + level * LEVEL_BYTES + field * Integer.BYTES);
+    }
+
+    private int choiceInt(int choice, int field) {
+        return buffer.getInt(choicesPos + choice * CHOICE_BYTES + field * Integer.BYTES);
+    }
+
+    private String string(int index) {
+        if (index < 0) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsPos + index * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsPos + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringDataPos + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fixed-size list that decodes each element on first access and keeps it.
+     */
+    private static final class LazyList<T> extends AbstractList<T> implements RandomAccess {
+        private final AtomicReferenceArray<T> decoded;
+        private final IntFunction<T> decoder;
+
+        LazyList(int size, IntFunction<T> decoder) {
+            this.decoded = new AtomicReferenceArray<>(size);
+            this.decoder = decoder;
+        }
+
+        @Override
+        public T get(int index) {
+            T value = decoded.get(index);
+            if (value == null) {
+                value = decoder.apply(index);
+                if (!decoded.compareAndSet(index, null, value)) {
+                    value = decoded.get(index);
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public int size() {
+            return decoded.length();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.echoesofcommand;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Build-time tool that compiles scenario JSON resources into binary packs read by {@link ScenarioPack}.
+ * Run by Maven in the process-classes phase with the output directory followed by the JSON names.
+ */
+public final class ScenarioPackCompiler {
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+
+    private ScenarioPackCompiler() {
+    }
+
+    /**
+     * Compiles each named JSON file in a directory into a sibling .pack file.
+     * @param args The directory, followed by one or more JSON file names.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ScenarioPackCompiler <dir> <history.json>...");
+            System.exit(2);
+        }
+        Path dir = Path.of(args[0]);
+        for (int i = 1; i < args.length; i++) {
+            Path source = dir.resolve(args[i]);
+            Path target = dir.resolve(ScenarioPack.packNameFor(args[i]));
+            byte[] json = Files.readAllBytes(source);
+            List<eoc.ui.model.Leader> leaders = new ObjectMapper().readValue(json, new TypeReference<List<eoc.ui.model.Leader>>() {});
+            try (OutputStream output = Files.newOutputStream(target)) {
+                new ScenarioPackCompiler().write(leaders, json, output);
+            }
+            System.out.println("Compiled " + source.getFileName() + " -> " + target.getFileName() + " (" + Files.size(target) + " bytes)");
+        }
+    }
+
+    private void write(List<eoc.ui.model.Leader> leaders, byte[] json, OutputStream target) throws IOException {
+        ByteArrayOutputStream leaderBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream levelBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream choiceBytes = new ByteArrayOutputStream();
+        DataOutputStream leaderOut = new DataOutputStream(leaderBytes);
+        DataOutputStream levelOut = new DataOutputStream(levelBytes);
+        DataOutputStream choiceOut = new DataOutputStream(choiceBytes);
+
+        int levelCount = 0;
+        int choiceCount = 0;
+        for (int l = 0; l < leaders.size(); l++) {
+            eoc.ui.model.Leader leader = leaders.get(l);
+            leaderOut.writeInt(intern(leader.getName()));
+            leaderOut.writeInt(intern(leader.getBackstory()));
+            leaderOut.writeInt(levelCount);
+            leaderOut.writeInt(leader.getLevels().size());
+            for (eoc.ui.model.Level level : leader.getLevels()) {
+                levelOut.writeInt(level.getNumber());
+                levelOut.writeInt(l);
+                levelOut.writeInt(intern(level.getDescription()));
+                levelOut.writeInt(intern(level.getSummary()));
+                levelOut.writeInt(choiceCount);
+                levelOut.writeInt(level.getChoices().size());
+                for (eoc.ui.model.Choice choice : level.getChoices()) {
+                    choiceOut.writeInt(intern(choice.getText()));
+                    choiceOut.writeInt(choice.isHistorical() ? 1 : 0);
+                    choiceCount++;
+                }
+                levelCount++;
+            }
+        }
+
+        int stringOffsetsPos = ScenarioPack.HEADER_BYTES;
+        int stringDataPos = stringOffsetsPos + (strings.size() + 1) * Integer.BYTES;
+        int stringDataLength = strings.stream().mapToInt(bytes -> bytes.length).sum();
+        int leadersPos = align(stringDataPos + stringDataLength);
+        int levelsPos = leadersPos + leaderBytes.size();
+        int choicesPos = levelsPos + levelBytes.size();
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(ScenarioPack.MAGIC);
+        out.writeInt(ScenarioPack.VERSION);
+        out.writeInt(strings.size());
+        out.writeInt(leaders.size());
+        out.writeInt(levelCount);
+        out.writeInt(choiceCount);
+        out.writeInt(stringOffsetsPos);
+        out.writeInt(stringDataPos);
+        out.writeInt(leadersPos);
+        out.writeInt(levelsPos);
+        out.writeInt(choicesPos);
+        out.writeInt(json.length);
+        out.writeInt(ScenarioPack.checksum(json));
+
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] bytes : strings) {
+            offset += bytes.length;
+            out.writeInt(offset);
+        }
+        for (byte[] bytes : strings) {
+            out.write(bytes);
+        }
+        out.write(new byte[leadersPos - stringDataPos - stringDataLength]);
+        leaderBytes.writeTo(out);
+        levelBytes.writeTo(out);
+        choiceBytes.writeTo(out);
+        out.flush();
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        return stringIndex.computeIfAbsent(value, key -> {
+            strings.add(key.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private static int align(int position) {
+        return (position + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+}
@@ -0,0 +1,270 @@
+package com.echoesofcommand;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless simulation: plays many rounds with bot players across all cores and reports
+ * throughput and score distributions. Rounds run the real {@link Game} loop with a
+ * {@link BotUI}, no archive and no console I/O.
+ *
+ * <p>Usage: {@code Simulation [rounds] [historical|random|learned:<username>|error:<rate>] [single|sequential|random] [threads] [seed]}
+ */
+public final class Simulation {
+    private static final String LEADERS_FILE = "history.json";
+    private static final String LEADER_STATS_FILE = "leader-stats.bin";
+    private static final int SPLIT_THRESHOLD = 1024;
+    private static final int HISTOGRAM_WIDTH = 50;
+
+    private final List<Leader> leaders;
+    private final BotStrategy strategy;
+    private final GameMode mode;
+
+    /**
+     * Creates a simulation.
+     * @param leaders The leaders to play.
+     * @param strategy The strategy every bot plays with.
+     * @param mode The game mode of every round.
+     */
+    public Simulation(List<Leader> leaders, BotStrategy strategy, GameMode mode) {
+        this.leaders = leaders;
+        this.strategy = strategy;
+        this.mode = mode;
+    }
+
+    /**
+     * Aggregated outcome of a batch of rounds.
+     */
+    public static final class Tally {
+        private long[] scores = new long[0];
+        private final Map<String, long[]> leaderResults = new HashMap<>();
+        private long rounds;
+        private long levels;
+        private long scoreSum;
+        private long scoreSquareSum;
+
+        void addRound(int score, int total) {
+            if (score >= scores.length) {
+                scores = Arrays.copyOf(scores, score + 1);
+            }
+            scores[score]++;
+            rounds++;
+            levels += total;
+            scoreSum += score;
+            scoreSquareSum += (long) score * score;
+        }
+
+        void addLeaderResults(Map<String, long[]> results) {
+            results.forEach((leader, counts) -> {
+                long[] total = leaderResults.computeIfAbsent(leader, l -> new long[2]);
+                total[0] += counts[0];
+                total[1] += counts[1];
+            });
+        }
+
+        Tally merge(Tally other) {
+            if (other.scores.length > scores.length) {
+                scores = Arrays.copyOf(scores, other.scores.length);
+            }
+            for (int i = 0; i < other.scores.length; i++) {
+                scores[i] += other.scores[i];
+            }
+            addLeaderResults(other.leaderResults);
+            rounds += other.rounds;
+            levels += other.levels;
+            scoreSum += other.scoreSum;
+            scoreSquareSum += other.scoreSquareSum;
+            return this;
+        }
+
+        /**
+         * Gets the number of rounds played.
+         * @return The round count.
+         */
+        public long getRounds() {
+            return rounds;
+        }
+
+        /**
+         * Gets the number of levels played across all rounds.
+         * @return The level count.
+         */
+        public long getLevels() {
+            return levels;
+        }
+
+        /**
+         * Gets how many rounds ended with each score.
+         * @return The count of rounds per score, indexed by score.
+         */
+        public long[] getScoreHistogram() {
+            return scores.clone();
+        }
+
+        /**
+         * Gets the mean score.
+         * @return The mean, or 0 if no rounds were played.
+         */
+        public double getMeanScore() {
+            return rounds == 0 ? 0 : (double) scoreSum / rounds;
+        }
+
+        /**
+         * Gets the standard deviation of the score.
+         * @return The population standard deviation, or 0 if no rounds were played.
+         */
+        public double getScoreStdDev() {
+            if (rounds == 0) return 0;
+            double mean = getMeanScore();
+            return Math.sqrt(Math.max(0, (double) scoreSquareSum / rounds - mean * mean));
+        }
+
+        /**
+         * Gets the decisions made per leader.
+         * @return For each leader name, {decisions, correct decisions}, sorted by name.
+         */
+        public Map<String, long[]> getLeaderResults() {
+            return new TreeMap<>(leaderResults);
+        }
+    }
+
+    /**
+     * Plays rounds on a pool.
+     * @param pool The pool to run on.
+     * @param rounds The number of rounds.
+     * @param seed The seed for reproducible runs, or null to seed from the current thread.
+     * @return The aggregated outcome.
+     */
+    public Tally run(ForkJoinPool pool, long rounds, Long seed) {
+        SplittableRandom master = seed == null ? null : new SplittableRandom(seed);
+        return pool.invoke(new Rounds(0, rounds, master));
+    }
+
+    /**
+     * Splits a range of rounds until it is small enough to play on one thread. With a seed,
+     * each half gets its own split generator so results do not depend on scheduling.
+     * Tasks are never serialized, although ForkJoinTask is Serializable.
+     */
+    @SuppressWarnings("serial")
+    private final class Rounds extends RecursiveTask<Tally> {
+        private final long from;
+        private final long to;
+        private final SplittableRandom random;
+
+        Rounds(long from, long to, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return play(to - from, random != null ? random : ThreadLocalRandom.current());
+            }
+            long mid = (from + to) >>> 1;
+            Rounds left = new Rounds(from, mid, random == null ? null : random.split());
+            Rounds right = new Rounds(mid, to, random);
+            left.fork();
+            Tally tally = right.compute();
+            return tally.merge(left.join());
+        }
+    }
+
+    private Tally play(long rounds, RandomGenerator random) {
+        Tally tally = new Tally();
+        BotUI bot = new BotUI(strategy, random);
+        PlayerRecord player = new PlayerRecord("bot", "");
+        boolean sequential = mode == GameMode.SEQUENTIAL;
+        boolean randomized = mode == GameMode.RANDOM;
+        for (long i = 0; i < rounds; i++) {
+            List<Leader> toPlay = mode == GameMode.SINGLE ? List.of(bot.selectLeader(leaders)) : leaders;
+            new Game(toPlay, bot, player, null, sequential, randomized, random, ArchiveRecord.languageOf(LEADERS_FILE)).start();
+            tally.addRound(bot.getLastScore(), bot.getLastTotal());
+        }
+        tally.addLeaderResults(bot.getLeaderResults());
+        return tally;
+    }
+
+    /**
+     * Runs a simulation from the command line.
+     * @param args Rounds, strategy, mode, threads and seed, all optional.
+     */
+    public static void main(String[] args) {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        String strategyName = args.length > 1 ? args[1] : "historical";
+        GameMode mode = args.length > 2 ? GameMode.valueOf(args[2].toUpperCase(Locale.ROOT)) : GameMode.RANDOM;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Long seed = args.length > 4 ? Long.valueOf(args[4]) : null;
+
+        List<Leader> leaders = ScenarioCatalog.getInstance().leaders(LEADERS_FILE);
+        if (leaders.isEmpty()) {
+            System.err.println("Error loading leaders: none found in " + LEADERS_FILE);
+            return;
+        }
+        Simulation simulation = new Simulation(leaders, strategyOf(strategyName), mode);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            Tally tally = simulation.run(pool, rounds, seed);
+            long elapsed = System.nanoTime() - start;
+            report(tally, strategyName, mode, threads, elapsed);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Parses a strategy name.
+     * @param name historical, random, error:&lt;rate&gt; or learned:&lt;username&gt;.
+     * @return The strategy.
+     */
+    static BotStrategy strategyOf(String name) {
+        if (name.startsWith("error:")) {
+            return BotStrategy.errorProfile(Map.of(), Double.parseDouble(name.substring(6)), 0);
+        }
+        if (name.startsWith("learned:")) {
+            LeaderStats stats = LeaderStats.open(Path.of(LEADER_STATS_FILE), null);
+            return BotStrategy.learnedFrom(stats.forUser(name.substring(8)), 0.5);
+        }
+        return switch (name) {
+            case "historical" -> BotStrategy.historical();
+            case "random" -> BotStrategy.random();
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+
+    private static void report(Tally tally, String strategy, GameMode mode, int threads, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%,d rounds (%,d levels) of %s with '%s' bots on %d threads in %.2f s%n",
+                tally.getRounds(), tally.getLevels(), mode, strategy, threads, seconds);
+        System.out.printf(Locale.ROOT, "Throughput: %,.0f rounds/s, %,.0f levels/s%n",
+                tally.getRounds() / seconds, tally.getLevels() / seconds);
+        System.out.printf(Locale.ROOT, "Score: mean %.2f, std dev %.2f%n", tally.getMeanScore(), tally.getScoreStdDev());
+
+        long[] histogram = tally.getScoreHistogram();
+        long max = 0;
+        for (long count : histogram) max = Math.max(max, count);
+        System.out.println("Score distribution:");
+        for (int score = 0; score < histogram.length; score++) {
+            if (histogram[score] == 0) continue;
+            int bar = (int) Math.max(1, histogram[score] * HISTOGRAM_WIDTH / max);
+            System.out.printf(Locale.ROOT, "  %3d | %-" + HISTOGRAM_WIDTH + "s %,d%n", score, "#".repeat(bar), histogram[score]);
+        }
+
+        System.out.println("Accuracy by leader:");
+        tally.getLeaderResults().forEach((leader, counts) ->
+                System.out.printf(Locale.ROOT, "  %-30s %6.2f%% of %,d%n", leader, 100.0 * counts[1] / Math.max(1, counts[0]), counts[0]));
+    }
+}
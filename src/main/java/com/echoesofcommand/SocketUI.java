@@ -0,0 +1,51 @@
+package com.echoesofcommand;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link GameUI} for one network session. It speaks the same line protocol the console
+ * shows: the server sends exactly what {@link ConsoleUI} prints, as UTF-8, and the client
+ * answers each prompt with one line.
+ */
+public class SocketUI extends ConsoleUI implements Closeable {
+    private final Socket socket;
+    private final PrintStream out;
+
+    /**
+     * Creates the UI of a connected client.
+     * @param socket The client's socket.
+     * @throws IOException If the socket's streams cannot be opened.
+     */
+    public SocketUI(Socket socket) throws IOException {
+        this(socket, new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false, StandardCharsets.UTF_8));
+    }
+
+    private SocketUI(Socket socket, PrintStream out) throws IOException {
+        super(socket.getInputStream(), out);
+        this.socket = socket;
+        this.out = out;
+    }
+
+    /**
+     * Refuses to save files on the server on behalf of a remote player.
+     */
+    @Override
+    protected void downloadCourseMaterial() {
+        displayMessage("Downloading is only available on the local console. Choose \"Read it now\" instead.");
+    }
+
+    /**
+     * Sends any pending output and closes the connection.
+     * @throws IOException If the socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        out.flush();
+        socket.close();
+    }
+}
@@ -0,0 +1,165 @@
+package com.echoesofcommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded write-behind queue with a single dedicated writer thread.
+ * Producers hand off updates and return immediately; the writer drains everything that is
+ * pending and passes it to the batch writer in one call, so updates that pile up while a
+ * write is in progress are coalesced into the next write.
+ * @param <T> The update type.
+ */
+public final class WriteBehindQueue<T> {
+    private final BlockingQueue<T> queue;
+    private final Consumer<List<T>> batchWriter;
+    private final Thread writer;
+    private final Object progress = new Object();
+    private long submitted;
+    private long completed;
+    private long batches;
+    private long totalWriteNanos;
+    private long maxWriteNanos;
+    private long lastWriteNanos;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the queue and starts its writer thread.
+     * @param name The writer thread name.
+     * @param capacity The maximum number of pending updates.
+     * @param batchWriter Persists a batch of updates, in submission order.
+     */
+    public WriteBehindQueue(String name, int capacity, Consumer<List<T>> batchWriter) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchWriter = batchWriter;
+        this.writer = new Thread(this::drainLoop, name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues an update. Blocks only if the queue is full.
+     * @param update The update to persist.
+     * @throws IllegalStateException If the queue is shut down, or if the caller is interrupted
+     *         while waiting for room; the update is then not saved and the interrupt is kept.
+     */
+    public void submit(T update) {
+        if (!running) {
+            throw new IllegalStateException("Write-behind queue is shut down");
+        }
+        synchronized (progress) {
+            submitted++;
+        }
+        try {
+            queue.put(update);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (progress) {
+                submitted--;
+                progress.notifyAll();
+            }
+            throw new IllegalStateException("Interrupted while queueing an update; it was not saved", e);
+        }
+    }
+
+    /**
+     * Waits until every update submitted before this call has been written.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return True if everything was written, false on timeout.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitFlushed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            long target = submitted;
+            while (completed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes everything still pending and stops the writer thread.
+     * @param timeout The maximum time to wait for pending writes.
+     * @param unit The unit of the timeout.
+     * @return True if everything was written before the timeout.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        boolean flushed = awaitFlushed(timeout, unit);
+        running = false;
+        writer.interrupt();
+        return flushed;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getCompletedCount() {
+        synchronized (progress) {
+            return completed;
+        }
+    }
+
+    public long getBatchCount() {
+        synchronized (progress) {
+            return batches;
+        }
+    }
+
+    public long getLastWriteNanos() {
+        synchronized (progress) {
+            return lastWriteNanos;
+        }
+    }
+
+    public long getMaxWriteNanos() {
+        synchronized (progress) {
+            return maxWriteNanos;
+        }
+    }
+
+    public double getAverageWriteMillis() {
+        synchronized (progress) {
+            return batches == 0 ? 0 : totalWriteNanos / (double) batches / 1_000_000.0;
+        }
+    }
+
+    private void drainLoop() {
+        List<T> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                if (!running) break;
+                continue;
+            }
+            queue.drainTo(batch);
+            long start = System.nanoTime();
+            try {
+                batchWriter.accept(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Write-behind batch of " + batch.size() + " failed: " + e.getMessage());
+            }
+            long elapsed = System.nanoTime() - start;
+            synchronized (progress) {
+                completed += batch.size();
+                batches++;
+                totalWriteNanos += elapsed;
+                maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+                lastWriteNanos = elapsed;
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+}
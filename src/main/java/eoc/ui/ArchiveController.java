@@ -1,12 +1,16 @@
 package eoc.ui;
 
+import com.echoesofcommand.ArchiveIndex;
+import com.echoesofcommand.ArchiveJournal;
+import com.echoesofcommand.ArchiveRecord;
+import com.echoesofcommand.GameEvents;
+import com.echoesofcommand.Metrics;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextArea;
@@ -14,13 +18,17 @@ import javafx.scene.control.TextField;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ArchiveController {
     @FXML private Button searchButton;
@@ -30,7 +38,21 @@ public class ArchiveController {
 
     private static final String ARCHIVE_JSON_PATH = "archive.json";
     private static final Path ARCHIVE_FILE_PATH = Paths.get("Echoes_of_Command", ARCHIVE_JSON_PATH);
-    private List<ArchiveEntry> archiveEntries;
+    private static final Path ARCHIVE_JOURNAL_PATH = Paths.get("Echoes_of_Command", "archive.journal");
+    private static final long PENDING_SAVE_TIMEOUT_MS = 2000;
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+    private static final int MAX_DISPLAYED_RESULTS = 1000;
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private ArchiveIndex<ArchiveRecord> archiveIndex;
+    private ArchiveIndex.Hits<ArchiveRecord> lastHits;
+    private Future<?> pendingSearch;
+    private long searchGeneration;
     private String username;
 
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -53,37 +75,93 @@ public class ArchiveController {
     @FXML
     public void initialize() {
         setupHoverEffects();
+        searchDebounce.setOnFinished(e -> filterAndDisplay());
     }
 
     private void loadArchiveData() {
-        try {
-            if (!Files.exists(ARCHIVE_FILE_PATH)) {
-                resultArea.setText("No archive data found at " + ARCHIVE_FILE_PATH);
-                return;
+        resultArea.setText("Loading archive...");
+        // Waiting for a pending save and building the index can take seconds on a big archive
+        SEARCH_EXECUTOR.submit(() -> {
+            RoundPersistence.getInstance().flush(PENDING_SAVE_TIMEOUT_MS); // include a round that just ended
+            try {
+                if (!Files.exists(ARCHIVE_JOURNAL_PATH) && !Files.exists(ARCHIVE_FILE_PATH)) {
+                    Platform.runLater(() -> resultArea.setText("No archive data found at " + ARCHIVE_JOURNAL_PATH));
+                    return;
+                }
+
+                ArchiveIndex<ArchiveRecord> index = ArchiveJournal.open(ARCHIVE_JOURNAL_PATH, ARCHIVE_FILE_PATH).index();
+                Platform.runLater(() -> {
+                    archiveIndex = index;
+                    filterAndDisplay();
+                });
+            } catch (IOException | UncheckedIOException e) {
+                showError("Failed to load archive: " + e.getMessage());
             }
+        });
+    }
 
-            ObjectMapper mapper = new ObjectMapper();
-            archiveEntries = mapper.readValue(
-                    Files.readAllBytes(ARCHIVE_FILE_PATH),
-                    new TypeReference<List<ArchiveEntry>>() {}
-            );
+    @FXML
+    public void onSearchButtonClick() {
+        searchDebounce.stop();
+        filterAndDisplay();
+    }
 
-            displayAllEntries();
-        } catch (IOException e) {
-            showError("Failed to load archive: " + e.getMessage());
-        }
+    @FXML
+    public void onSearchKeyReleased(KeyEvent event) {
+        // Wait for a pause in typing instead of searching on every key
+        searchDebounce.playFromStart();
     }
 
-    private void displayAllEntries() {
-        if (archiveEntries == null) {
-            resultArea.setText("No data loaded");
+    private void filterAndDisplay() {
+        if (archiveIndex == null) {
+            return; // still loading; the load displays the results when it finishes
+        }
+        if (archiveIndex.size() == 0) {
+            resultArea.setText("No archive data available");
             return;
         }
 
-        List<ArchiveEntry> playerEntries = archiveEntries.stream()
-                .filter(entry -> username.equalsIgnoreCase(entry.username))
-                .sorted(Comparator.comparingInt(entry -> entry.levelNumber))
-                .collect(Collectors.toList());
+        String keyword = searchField.getText().trim().toLowerCase();
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true); // a newer query supersedes one still running
+        }
+        long generation = ++searchGeneration;
+        ArchiveIndex.Hits<ArchiveRecord> previous = lastHits;
+        ArchiveIndex<ArchiveRecord> index = archiveIndex;
+
+        pendingSearch = SEARCH_EXECUTOR.submit(() -> {
+            try {
+                long start = System.nanoTime();
+                GameEvents.SearchQuery event = new GameEvents.SearchQuery();
+                event.begin();
+                ArchiveIndex.Hits<ArchiveRecord> hits = index.find(username, keyword, previous);
+                Metrics.getInstance().histogram("archive.search").recordSince(start);
+                if (event.shouldCommit()) {
+                    event.usernameHash = GameEvents.hashUsername(username);
+                    event.keywordLength = keyword.length();
+                    event.hits = hits.entries().size();
+                    event.commit();
+                }
+                String text = keyword.isEmpty() ? formatAllEntries(hits.entries()) : formatSearchResults(keyword, hits.entries());
+                if (text == null) {
+                    return; // cancelled while formatting
+                }
+                Platform.runLater(() -> {
+                    if (generation != searchGeneration) {
+                        return; // a newer search has started since
+                    }
+                    lastHits = hits;
+                    resultArea.setText(text);
+                });
+            } catch (RuntimeException e) {
+                System.err.println("❌ Archive search failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private String formatAllEntries(List<ArchiveRecord> records) {
+        List<ArchiveEntry> playerEntries = toDisplayedEntries(records);
+        if (playerEntries == null) return null;
 
         StringBuilder archiveText = new StringBuilder();
         archiveText.append("=== COMPLETE GAME HISTORY ===\n\n");
@@ -91,6 +169,7 @@ public class ArchiveController {
         if (playerEntries.isEmpty()) {
             archiveText.append("No entries found for ").append(username).append("\n");
         } else {
+            appendTruncationNote(archiveText, records.size());
             String currentLeader = null;
             for (ArchiveEntry entry : playerEntries) {
                 if (!entry.leader.equals(currentLeader)) {
@@ -108,43 +187,20 @@ public class ArchiveController {
             }
         }
 
-        resultArea.setText(archiveText.toString());
-    }
-
-    @FXML
-    public void onSearchButtonClick() {
-        filterAndDisplay();
-    }
-
-    @FXML
-    public void onSearchKeyReleased(KeyEvent event) {
-        filterAndDisplay();
+        return archiveText.toString();
     }
 
-    private void filterAndDisplay() {
-        if (archiveEntries == null || archiveEntries.isEmpty()) {
-            resultArea.setText("No archive data available");
-            return;
-        }
+    private String formatSearchResults(String keyword, List<ArchiveRecord> records) {
+        List<ArchiveEntry> filtered = toDisplayedEntries(records);
+        if (filtered == null) return null;
 
-        String keyword = searchField.getText().trim().toLowerCase();
         StringBuilder filteredText = new StringBuilder();
         filteredText.append("=== SEARCH RESULTS ===\n\n");
 
-        if (keyword.isEmpty()) {
-            displayAllEntries();
-            return;
-        }
-
-        List<ArchiveEntry> filtered = archiveEntries.stream()
-                .filter(entry -> username.equalsIgnoreCase(entry.username))
-                .filter(entry -> matchesKeyword(entry, keyword))
-                .sorted(Comparator.comparingInt(entry -> entry.levelNumber))
-                .collect(Collectors.toList());
-
         if (filtered.isEmpty()) {
             filteredText.append("No results found for: '").append(keyword).append("'\n");
         } else {
+            appendTruncationNote(filteredText, records.size());
             filtered.forEach(entry -> {
                 filteredText.append(String.format("Level %d\n", entry.levelNumber));
                 filteredText.append(String.format("Leader: %s\n", entry.leader));
@@ -157,26 +213,38 @@ public class ArchiveController {
             });
         }
 
-        resultArea.setText(filteredText.toString());
+        return filteredText.toString();
+    }
+
+    private void appendTruncationNote(StringBuilder text, int total) {
+        if (total > MAX_DISPLAYED_RESULTS) {
+            text.append(String.format("Showing the first %d of %d entries. Refine your search to see more.\n\n",
+                    MAX_DISPLAYED_RESULTS, total));
+        }
     }
 
-    private boolean matchesKeyword(ArchiveEntry entry, String keyword) {
-        return (entry.leader != null && entry.leader.toLowerCase().contains(keyword)) ||
-                (entry.description != null && entry.description.toLowerCase().contains(keyword)) ||
-                (entry.historicalChoice != null && entry.historicalChoice.toLowerCase().contains(keyword)) ||
-                (entry.playerChoice != null && entry.playerChoice.toLowerCase().contains(keyword)) ||
-                (entry.summary != null && entry.summary.toLowerCase().contains(keyword));
+    /**
+     * Sorts by level and resolves the text of at most MAX_DISPLAYED_RESULTS records for display.
+     * @return the entries, or null if the search was cancelled meanwhile
+     */
+    private List<ArchiveEntry> toDisplayedEntries(List<ArchiveRecord> records) {
+        List<ArchiveRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparingInt(ArchiveRecord::levelNumber));
+        if (Thread.currentThread().isInterrupted()) return null;
+        List<Map<String, Object>> resolved = new ArrayList<>();
+        for (ArchiveRecord record : sorted.subList(0, Math.min(sorted.size(), MAX_DISPLAYED_RESULTS))) {
+            resolved.add(record.resolve());
+        }
+        return mapper.convertValue(resolved, new TypeReference<List<ArchiveEntry>>() {});
     }
 
     @FXML
     public void onBackButtonClick() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Playmode.fxml"));
             Stage stage = (Stage) backButton.getScene().getWindow();
-            stage.setScene(new Scene(loader.load()));
+            SceneCache.getInstance().<PlaymodeController>show(stage, "/eoc/ui/Playmode.fxml",
+                    controller -> controller.setUsername(username));
             stage.setResizable(false);
-            PlaymodeController controller = loader.getController();
-            controller.setUsername(username);
         } catch (IOException e) {
             showError("Failed to return to play mode: " + e.getMessage());
         }
@@ -0,0 +1,154 @@
+package eoc.ui;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Images and sounds used during play, loaded once and shared. Which file belongs to which
+ * leader or sound is read from /eoc/ui/assets.json, so a new leader only needs an entry there.
+ *
+ * Images are decoded at the size they are displayed at rather than at the size of the PNG
+ * (the portraits are 1024x1024 but shown at about 191x201), and the cache evicts the least
+ * recently used images once their decoded size exceeds the budget. Sounds are few and small,
+ * so they are all loaded up front by {@link #preload()}.
+ */
+public class AssetManager {
+    private static final String ASSETS_FILE = "/eoc/ui/assets.json";
+    // Set -Deoc.assets.budgetMb=N to change how much decoded image data may stay cached
+    private static final long IMAGE_BUDGET_BYTES = Long.getLong("eoc.assets.budgetMb", 32) * 1024 * 1024;
+    private static final AssetManager INSTANCE = new AssetManager();
+
+    private final Map<String, String> portraits;
+    private final Map<String, String> sounds;
+    private final Map<String, AudioClip> clips = new ConcurrentHashMap<>();
+    // Access-ordered, so iteration starts at the least recently used image
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long imageBytes;
+
+    private AssetManager() {
+        Map<String, Map<String, String>> assets = Map.of();
+        try (InputStream in = AssetManager.class.getResourceAsStream(ASSETS_FILE)) {
+            if (in == null) {
+                System.err.println("❌ " + ASSETS_FILE + " not found in resources");
+            } else {
+                assets = new ObjectMapper().readValue(in, new TypeReference<Map<String, Map<String, String>>>() {});
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to read " + ASSETS_FILE + ": " + e.getMessage());
+        }
+        this.portraits = Map.copyOf(assets.getOrDefault("portraits", Map.of()));
+        this.sounds = Map.copyOf(assets.getOrDefault("sounds", Map.of()));
+    }
+
+    public static AssetManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Loads every sound on a background thread so the first playback does not wait for it.
+     */
+    public void preload() {
+        Thread.ofPlatform().daemon().name("asset-preload").start(() -> {
+            for (String name : sounds.keySet()) {
+                sound(name);
+            }
+        });
+    }
+
+    /**
+     * Gets a leader's portrait decoded to fit the given size, decoding it now if it is not cached.
+     * @return the portrait, or null if the leader has none
+     */
+    public Image portrait(String leaderName, double width, double height) {
+        String path = portraits.get(leaderName);
+        return path != null ? image(path, width, height, false) : null;
+    }
+
+    /**
+     * Starts decoding a leader's portrait in the background so that a later
+     * {@link #portrait} call for the same size finds it cached.
+     */
+    public void prefetchPortrait(String leaderName, double width, double height) {
+        String path = portraits.get(leaderName);
+        if (path != null) {
+            image(path, width, height, true);
+        }
+    }
+
+    /**
+     * Gets a preloaded sound, loading it now if {@link #preload()} has not reached it yet.
+     * @return the sound, or null if it is unknown or cannot be loaded
+     */
+    public AudioClip sound(String name) {
+        String path = sounds.get(name);
+        if (path == null) {
+            System.err.println("⚠️ No sound named " + name + " in " + ASSETS_FILE);
+            return null;
+        }
+        return clips.computeIfAbsent(name, key -> {
+            URL url = AssetManager.class.getResource(path);
+            if (url == null) {
+                System.err.println("❌ Sound not found: " + path);
+                return null;
+            }
+            try {
+                return new AudioClip(url.toExternalForm());
+            } catch (RuntimeException e) {
+                System.err.println("❌ Failed to load sound " + path + ": " + e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    private synchronized Image image(String path, double width, double height, boolean background) {
+        String key = path + "@" + Math.round(width) + "x" + Math.round(height);
+        Image image = images.get(key);
+        if (image != null && !image.isError()) {
+            return image;
+        }
+        if (image != null) {
+            // A background load failed after it was cached
+            images.remove(key);
+            imageBytes -= decodedBytes(width, height);
+        }
+        URL url = AssetManager.class.getResource(path);
+        if (url == null) {
+            System.err.println("❌ Image not found: " + path);
+            return null;
+        }
+        image = new Image(url.toExternalForm(), width, height, true, true, background);
+        if (image.isError()) {
+            System.err.println("❌ Failed to load image: " + path);
+            return null;
+        }
+        images.put(key, image);
+        imageBytes += decodedBytes(width, height);
+        evictOverBudget(key);
+        return image;
+    }
+
+    private void evictOverBudget(String keep) {
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        while (imageBytes > IMAGE_BUDGET_BYTES && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            if (eldest.getKey().equals(keep)) continue;
+            it.remove();
+            imageBytes -= decodedBytes(eldest.getValue().getRequestedWidth(), eldest.getValue().getRequestedHeight());
+        }
+    }
+
+    // Upper bound: the decoded image fits inside the requested box at 4 bytes per pixel
+    private static long decodedBytes(double width, double height) {
+        return (long) Math.ceil(width) * (long) Math.ceil(height) * 4;
+    }
+}
@@ -1,9 +1,6 @@
 package eoc.ui;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextArea;
 import javafx.scene.effect.DropShadow;
@@ -95,15 +92,12 @@ public class CourseController {
     @FXML
     public void onBackButtonClick() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Playmode.fxml"));
-            Parent root = loader.load();
-            PlaymodeController controller = loader.getController();
-            if (username != null) {
-                controller.setUsername(username); // Pass username back
-            }
-
             Stage stage = (Stage) backButton.getScene().getWindow();
-            stage.setScene(new Scene(root));
+            SceneCache.getInstance().<PlaymodeController>show(stage, "/eoc/ui/Playmode.fxml", controller -> {
+                if (username != null) {
+                    controller.setUsername(username); // Pass username back
+                }
+            });
             stage.show();
             stage.setResizable(false);
         } catch (IOException e) {
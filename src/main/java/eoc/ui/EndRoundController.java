@@ -3,17 +3,14 @@ package eoc.ui;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.Button;
 import javafx.stage.Stage;
-import javafx.scene.Node;
 
 import java.io.IOException;
 
-public class EndRoundController {
+public class EndRoundController implements SceneCache.Resettable {
 
     @FXML private Label scoreLabel;
     @FXML private Label timeLabel;
@@ -41,6 +38,13 @@ public class EndRoundController {
         this.mainStage = mainStage;
     }
 
+    @Override
+    public void reset() {
+        scoreLabel.setText("");
+        timeLabel.setText("");
+        mainStage = null;
+    }
+
     @FXML
     public void onQuitButtonClick(ActionEvent event) {
         try {
@@ -49,15 +53,12 @@ public class EndRoundController {
             dialogStage.close();
 
             // Navigate to main stage
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Playmode.fxml"));
-            Scene scene = new Scene(loader.load());
-
             if (mainStage == null) {
                 System.err.println("❌ Cannot navigate: mainStage is null");
                 showError("Cannot return to play mode. Error navigating stage.");
                 return;
             }
-            mainStage.setScene(scene);
+            SceneCache.getInstance().<PlaymodeController>show(mainStage, "/eoc/ui/Playmode.fxml", controller -> { });
         } catch (IOException e) {
             System.err.println("❌ Failed to load Playmode: " + e.getMessage());
             showError("Failed to return to play mode. Try again.");
@@ -1,20 +1,57 @@
 package eoc.ui;
+import com.echoesofcommand.Metrics;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 public class EocGUI extends Application {
+    // Set -Deoc.http.port=PORT to serve the dashboard API while the game runs
+    private static final Integer HTTP_PORT = Integer.getInteger("eoc.http.port");
+    // The API has no authentication; set -Deoc.http.host=ADDRESS to serve it beyond this machine
+    private static final String HTTP_HOST = System.getProperty("eoc.http.host");
+    // Set -Deoc.metrics.intervalSec=SECONDS to change how often metrics.prom is rewritten
+    private static final long METRICS_INTERVAL_SECONDS = Long.getLong("eoc.metrics.intervalSec", 15);
+    private HttpApi httpApi;
+
     @Override
     public void start(Stage stage) throws IOException {
+        Metrics.getInstance().startExport(Paths.get("Echoes_of_Command", "metrics.prom"), METRICS_INTERVAL_SECONDS);
+        FxWatchdog.getInstance().start();
+        if (HTTP_PORT != null) {
+            httpApi = new HttpApi(Paths.get("Echoes_of_Command"), PlayerStore.getInstance());
+            try {
+                httpApi.start(HTTP_HOST, HTTP_PORT);
+            } catch (IOException e) {
+                System.err.println("⚠️ HTTP API not started: " + e.getMessage());
+            }
+        }
+
         FXMLLoader fxmlLoader = new FXMLLoader(EocGUI.class.getResource("/eoc/ui/welcome.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 600, 400); // default size
         stage.setResizable(false);
         stage.setTitle("Echoes of Command");
         stage.setScene(scene);
         stage.show();
+        // Build the in-game views and load sounds while the player is still on the welcome screen
+        SceneCache.getInstance().prewarm();
+        AssetManager.getInstance().preload();
+    }
+
+    @Override
+    public void stop() {
+        FxWatchdog.getInstance().stop();
+        if (httpApi != null) {
+            httpApi.stop();
+        }
+        // Let queued round saves reach disk before the JVM exits
+        if (!RoundPersistence.getInstance().flush(5000)) {
+            System.err.println("⚠️ Exiting with unsaved rounds still queued");
+        }
+        PlayerStore.getInstance().checkpoint();
     }
 
 
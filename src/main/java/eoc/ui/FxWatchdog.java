@@ -0,0 +1,132 @@
+package eoc.ui;
+
+import com.echoesofcommand.Metrics;
+import javafx.application.Platform;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches the FX Application Thread for stalls. A background thread posts a ping with
+ * Platform.runLater and measures how long it waits to run; anything above the threshold is
+ * a stall that the player saw as a frozen screen.
+ *
+ * While a stall is in progress the FX thread's stack is sampled, at most once per threshold
+ * interval and {@value #MAX_SAMPLES_PER_MINUTE} times a minute, and printed so the blocking
+ * call can be found. Finished stalls are counted per screen, here and in the "fx.stall"
+ * metrics, so a fix can be shown to remove them.
+ */
+public class FxWatchdog {
+    // Set -Deoc.fx.stallMs=N to change how long the FX thread may be busy before it counts as a stall
+    private static final long STALL_THRESHOLD_MS = Long.getLong("eoc.fx.stallMs", 50);
+    private static final long CHECK_INTERVAL_MS = Math.max(1, STALL_THRESHOLD_MS / 5);
+    private static final int MAX_SAMPLES_PER_MINUTE = 10;
+    private static final int MAX_FRAMES = 20;
+    private static final FxWatchdog INSTANCE = new FxWatchdog();
+
+    private final long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(STALL_THRESHOLD_MS);
+    private final Map<String, LongAdder> stallsByScreen = new ConcurrentHashMap<>();
+    private volatile String screen = "welcome";
+    private volatile long pingSentAt;
+    private ScheduledExecutorService checker;
+    private Thread fxThread;
+    // Only touched by the checker thread
+    private long lastSampleAt;
+    private long sampleWindowStart;
+    private int samplesInWindow;
+
+    private FxWatchdog() {
+    }
+
+    public static FxWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts watching. Must be called on the FX thread.
+     */
+    public synchronized void start() {
+        if (checker != null) return;
+        fxThread = Thread.currentThread();
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleAtFixedRate(this::check, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        System.out.println("✅ FX watchdog started, stall threshold " + STALL_THRESHOLD_MS + " ms");
+    }
+
+    public synchronized void stop() {
+        if (checker == null) return;
+        checker.shutdownNow();
+        checker = null;
+        if (!stallsByScreen.isEmpty()) {
+            System.out.println("FX stalls per screen: " + getStallCounts());
+        }
+    }
+
+    /**
+     * Names the screen that following stalls are counted against.
+     */
+    public void setScreen(String screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * @return the number of stalls seen on each screen so far
+     */
+    public Map<String, Long> getStallCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        stallsByScreen.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        long sent = pingSentAt;
+        if (sent == 0) {
+            pingSentAt = now;
+            Platform.runLater(this::pong);
+        } else if (now - sent > thresholdNanos && now - lastSampleAt > thresholdNanos) {
+            sample(now, now - sent);
+        }
+    }
+
+    private void pong() {
+        long blocked = System.nanoTime() - pingSentAt;
+        pingSentAt = 0;
+        if (blocked > thresholdNanos) {
+            String current = screen;
+            stallsByScreen.computeIfAbsent(current, k -> new LongAdder()).increment();
+            Metrics.getInstance().counter("fx.stalls", "screen", current).increment();
+            Metrics.getInstance().histogram("fx.stall", "screen", current).record(blocked);
+            System.err.printf("⚠️ FX thread stalled for %.1f ms on %s%n", blocked / 1e6, current);
+        }
+    }
+
+    private void sample(long now, long blockedNanos) {
+        lastSampleAt = now;
+        if (now - sampleWindowStart > TimeUnit.MINUTES.toNanos(1)) {
+            sampleWindowStart = now;
+            samplesInWindow = 0;
+        }
+        if (samplesInWindow++ >= MAX_SAMPLES_PER_MINUTE) return;
+
+        StackTraceElement[] stack = fxThread.getStackTrace();
+        StringBuilder message = new StringBuilder()
+                .append(String.format("⚠️ FX thread blocked for %.1f ms on %s, stack:%n", blockedNanos / 1e6, screen));
+        for (int i = 0; i < Math.min(stack.length, MAX_FRAMES); i++) {
+            message.append("    at ").append(stack[i]).append(System.lineSeparator());
+        }
+        if (stack.length > MAX_FRAMES) {
+            message.append("    ... ").append(stack.length - MAX_FRAMES).append(" more").append(System.lineSeparator());
+        }
+        System.err.print(message);
+    }
+}
@@ -0,0 +1,299 @@
+package eoc.ui;
+
+import com.echoesofcommand.ArchiveIndex;
+import com.echoesofcommand.ArchiveJournal;
+import com.echoesofcommand.ArchiveRecord;
+import com.echoesofcommand.GameMode;
+import com.echoesofcommand.LeaderStats;
+import com.echoesofcommand.Leaderboard;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eoc.ui.PlayerStore.StatsData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only JSON API for dashboards, served from the same in-memory indexes the GUI uses
+ * (PlayerStore leaderboards and stats, LeaderStats counters, the archive search index), so
+ * polling never re-parses the data files. Each response carries an ETag built from the
+ * version of the data it was read from; a matching If-None-Match gets 304 without a body.
+ * It runs inside the game process only: a second process would open the archive journal
+ * for writing and never see the game's appends. There is no authentication, so it listens
+ * on the loopback address unless another host is given.
+ *
+ *   GET /api/leaderboard?mode=SINGLE|SEQUENTIAL|RANDOM&limit=N
+ *   GET /api/stats?user=NAME
+ *   GET /api/archive?q=KEYWORDS&user=NAME&limit=N
+ */
+public class HttpApi {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final PlayerStore playerStore;
+    private final Path archiveFilePath;
+    private final Path archiveJournalPath;
+    private final Path leaderStatsPath;
+    private final ObjectMapper mapper = new ObjectMapper();
+    // Versions restart at zero with the process, so tags from an earlier run must not match
+    private final String instanceTag = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public HttpApi(Path dataDir, PlayerStore playerStore) {
+        this.playerStore = playerStore;
+        this.archiveFilePath = dataDir.resolve("archive.json");
+        this.archiveJournalPath = dataDir.resolve("archive.journal");
+        this.leaderStatsPath = dataDir.resolve("leader-stats.bin");
+    }
+
+    /**
+     * @param host The address to listen on, or null for the loopback address.
+     */
+    public synchronized void start(String host, int port) throws IOException {
+        InetAddress address = host != null ? InetAddress.getByName(host) : InetAddress.getLoopbackAddress();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/leaderboard", exchange -> handle(exchange, this::leaderboard));
+        server.createContext("/api/stats", exchange -> handle(exchange, this::stats));
+        server.createContext("/api/archive", exchange -> handle(exchange, this::archive));
+        server.start();
+        System.out.println("✅ HTTP API listening on " + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    private interface Endpoint {
+        Response respond(Map<String, String> query) throws IOException;
+    }
+
+    private interface Body {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    private record Response(int status, String etag, Body body) {
+        static Response error(int status, String message) {
+            return new Response(status, null, json -> {
+                json.writeStartObject();
+                json.writeStringField("error", message);
+                json.writeEndObject();
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            Response response;
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                response = Response.error(405, "Only GET is supported");
+            } else {
+                try {
+                    response = endpoint.respond(parseQuery(exchange.getRequestURI().getRawQuery()));
+                } catch (IllegalArgumentException e) {
+                    response = Response.error(400, e.getMessage());
+                } catch (IOException | UncheckedIOException e) {
+                    System.err.println("❌ HTTP API failed on " + exchange.getRequestURI() + ": " + e.getMessage());
+                    response = Response.error(500, "Data could not be read");
+                }
+            }
+            send(exchange, response);
+        }
+    }
+
+    private void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.etag() != null) {
+            exchange.getResponseHeaders().set("ETag", response.etag());
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), response.etag())) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), 0); // chunked: the body is streamed as it is generated
+        try (OutputStream out = exchange.getResponseBody();
+             JsonGenerator json = mapper.getFactory().createGenerator(out)) {
+            response.body().write(json);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private Response leaderboard(Map<String, String> query) {
+        int limit = limitOf(query);
+        String modeName = query.get("mode");
+        List<GameMode> modes;
+        if (modeName == null) {
+            modes = List.of(GameMode.values());
+        } else {
+            try {
+                modes = List.of(GameMode.valueOf(modeName.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown mode: " + modeName);
+            }
+        }
+        String etag = etag("leaderboard", playerStore.getVersion());
+        return new Response(200, etag, json -> {
+            json.writeStartObject();
+            for (GameMode mode : modes) {
+                Leaderboard leaderboard = playerStore.getLeaderboard(mode);
+                List<Leaderboard.Entry> top = leaderboard.top(limit);
+                json.writeObjectFieldStart(mode.name());
+                json.writeNumberField("total", leaderboard.size());
+                json.writeArrayFieldStart("entries");
+                int rank = 1;
+                for (Leaderboard.Entry entry : top) {
+                    json.writeStartObject();
+                    json.writeNumberField("rank", rank++);
+                    json.writeStringField("username", entry.username());
+                    json.writeNumberField("score", entry.score());
+                    if (entry.timeMillis() != Long.MAX_VALUE) {
+                        json.writeNumberField("timeMillis", entry.timeMillis());
+                    }
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        });
+    }
+
+    private Response stats(Map<String, String> query) {
+        String username = required(query, "user").toLowerCase(Locale.ROOT);
+        LeaderStats leaderStats = LeaderStats.open(leaderStatsPath, ArchiveJournal.open(archiveJournalPath, archiveFilePath));
+        String etag = etag("stats", playerStore.getVersion(), leaderStats.getVersion());
+        StatsData player = playerStore.getStats(username);
+        if (player == null) {
+            return Response.error(404, "Unknown user: " + username);
+        }
+        Map<String, LeaderStats.Counters> leaders = leaderStats.forUser(username);
+        return new Response(200, etag, json -> {
+            json.writeStartObject();
+            json.writeStringField("username", player.username);
+            json.writeNumberField("totalLevelsPlayed", player.totalLevelsPlayed);
+            json.writeNumberField("totalCorrectChoices", player.totalCorrectChoices);
+            json.writeNumberField("accuracy", player.totalLevelsPlayed > 0 ?
+                    (player.totalCorrectChoices * 100.0) / player.totalLevelsPlayed : 0);
+            json.writeNumberField("averageTime", player.averageTime);
+            json.writeObjectFieldStart("ranks");
+            for (GameMode mode : GameMode.values()) {
+                int rank = playerStore.getLeaderboard(mode).rankOf(username);
+                if (rank > 0) json.writeNumberField(mode.name(), rank);
+            }
+            json.writeEndObject();
+            json.writeObjectFieldStart("leaders");
+            for (Map.Entry<String, LeaderStats.Counters> leader : leaders.entrySet()) {
+                LeaderStats.Counters counters = leader.getValue();
+                json.writeObjectFieldStart(leader.getKey());
+                json.writeNumberField("levels", counters.levels());
+                json.writeNumberField("levelsCorrect", counters.levelsCorrect());
+                json.writeNumberField("attempts", counters.attempts());
+                json.writeNumberField("correct", counters.correct());
+                if (counters.lastPlayed() > 0) json.writeNumberField("lastPlayed", counters.lastPlayed());
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+        });
+    }
+
+    private Response archive(Map<String, String> query) throws IOException {
+        String keyword = query.getOrDefault("q", "").trim().toLowerCase(Locale.ROOT);
+        String username = query.get("user") != null ? query.get("user").toLowerCase(Locale.ROOT) : null;
+        int limit = limitOf(query);
+        ArchiveIndex<ArchiveRecord> index = ArchiveJournal.open(archiveJournalPath, archiveFilePath).index();
+        String etag = etag("archive", index.size());
+        // The search runs only when the body is written, so a 304 for an unchanged index costs no search
+        return new Response(200, etag, json -> {
+            List<ArchiveRecord> hits;
+            if (username != null) {
+                hits = keyword.isEmpty() ? index.entries(username) : index.search(username, keyword);
+            } else {
+                hits = index.searchAll(keyword);
+            }
+            json.writeStartObject();
+            json.writeNumberField("total", hits.size());
+            json.writeArrayFieldStart("entries");
+            for (int i = 0; i < hits.size() && i < limit; i++) {
+                json.writeObject(hits.get(i).resolve());
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        });
+    }
+
+    private String etag(String resource, long... versions) {
+        StringBuilder tag = new StringBuilder("W/\"").append(resource).append('-').append(instanceTag);
+        for (long version : versions) {
+            tag.append('-').append(version);
+        }
+        return tag.append('"').toString();
+    }
+
+    private static int limitOf(Map<String, String> query) {
+        String value = query.get("limit");
+        if (value == null) return DEFAULT_LIMIT;
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit < 0) throw new NumberFormatException();
+            return Math.min(limit, MAX_LIMIT);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit: " + value);
+        }
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            query.putIfAbsent(name, value);
+        }
+        return query;
+    }
+}
@@ -1,13 +1,10 @@
 package eoc.ui;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.echoesofcommand.ScenarioCatalog;
+import eoc.ui.model.Leader;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -19,9 +16,7 @@ import javafx.scene.Node;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class LeaderController {
@@ -185,19 +180,10 @@ public class LeaderController {
         leaderBackstories.clear();
         String historyFilePath = LanguageManager.getInstance().getHistoryFilePath();
         System.out.println("LeaderController: Loading backstories from " + historyFilePath);
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream(historyFilePath)) {
-            if (input == null) {
-                System.err.println("❌ " + historyFilePath + " not found in resources.");
-                return;
-            }
-
-            ObjectMapper mapper = new ObjectMapper();
-            List<Map<String, Object>> leaders = mapper.readValue(input, new TypeReference<>() {});
-            for (Map<String, Object> leader : leaders) {
-                String name = (String) leader.get("name");
-                String backstory = (String) leader.get("backstory");
-                if (name != null && backstory != null) {
-                    leaderBackstories.put(name, backstory);
+        try {
+            for (Leader leader : ScenarioCatalog.getInstance().guiLeaders(historyFilePath)) {
+                if (leader.getName() != null && leader.getBackstory() != null) {
+                    leaderBackstories.put(leader.getName(), leader.getBackstory());
                 }
             }
             System.out.println("✅ Loaded " + leaderBackstories.size() + " backstories from " + historyFilePath);
@@ -228,13 +214,9 @@ public class LeaderController {
 
     private void launchGame(ActionEvent event, String leaderName) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Level.fxml"));
-            Parent root = loader.load();
-            LevelController controller = loader.getController();
-            controller.initializeGame(selectedMode, leaderName, username); // Pass username
-
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
+            SceneCache.getInstance().<LevelController>show(stage, "/eoc/ui/Level.fxml",
+                    controller -> controller.initializeGame(selectedMode, leaderName, username)); // Pass username
             stage.show();
             stage.setResizable(false);
         } catch (IOException e) {
@@ -246,12 +228,9 @@ public class LeaderController {
     @FXML
     public void onBackButtonClick(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Playmode.fxml"));
-            Parent root = loader.load();
-            PlaymodeController controller = loader.getController();
-            controller.setUsername(username); // Pass username back
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
+            SceneCache.getInstance().<PlaymodeController>show(stage, "/eoc/ui/Playmode.fxml",
+                    controller -> controller.setUsername(username)); // Pass username back
             stage.show();
             stage.setResizable(false);
         } catch (IOException e) {
@@ -1,8 +1,8 @@
 package eoc.ui;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.echoesofcommand.GameMode;
+import com.echoesofcommand.Leaderboard;
+import com.echoesofcommand.Metrics;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -12,96 +12,65 @@ import javafx.stage.Stage;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.effect.DropShadow;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Comparator;
 import java.util.List;
 
 public class LeaderboardController {
     @FXML private Button backButton;
     @FXML private TextArea leaderboardTextArea;
 
-    private static final String PLAYERS_JSON_PATH = "players.json";
-    private static final Path PLAYERS_FILE_PATH = Paths.get("Echoes_of_Command", PLAYERS_JSON_PATH);
+    private static final long PENDING_SAVE_TIMEOUT_MS = 2000;
+    private static final int TOP_PLAYERS = 100;
     private String username;
 
     public void setUsername(String username) {
         this.username = username != null ? username.toLowerCase() : null; // Ensure lowercase hence ignore case sensitivity
         System.out.println("LeaderboardController: Username set to " + this.username);
+        loadLeaderboardData();
     }
 
     public void initialize() {
         setupHoverEffect(backButton, "#3a4219", 1.05, 1.05);
-        loadLeaderboardData();
     }
 
     private void loadLeaderboardData() {
-        System.out.println("Attempting to load players from: " + PLAYERS_FILE_PATH.toAbsolutePath());
+        leaderboardTextArea.setText("Loading leaderboard...");
+        // Include a round that just ended, without freezing the screen while it is written
+        RoundPersistence.getInstance().flushAsync(PENDING_SAVE_TIMEOUT_MS)
+                .thenRunAsync(this::showLeaderboard, Platform::runLater);
+    }
 
-        if (!Files.exists(PLAYERS_FILE_PATH)) {
-            leaderboardTextArea.setText("Leaderboard data not found at " + PLAYERS_FILE_PATH);
-            System.err.println("❌ Players file not found at: " + PLAYERS_FILE_PATH);
+    private void showLeaderboard() {
+        PlayerStore playerStore = PlayerStore.getInstance();
+        if (playerStore.size() == 0) {
+            leaderboardTextArea.setText("Leaderboard data not found");
+            System.err.println("❌ No players in the player store");
             return;
         }
 
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<PlayerData> players = mapper.readValue(Files.readAllBytes(PLAYERS_FILE_PATH), new TypeReference<List<PlayerData>>() {});
-            System.out.println("✅ Loaded " + players.size() + " player entries");
+        long start = System.nanoTime();
+        StringBuilder display = new StringBuilder("🏆 Leaderboard\n");
+        appendMode(display, "Single Mode", playerStore.getLeaderboard(GameMode.SINGLE));
+        appendMode(display, "Sequential Mode", playerStore.getLeaderboard(GameMode.SEQUENTIAL));
+        appendMode(display, "Randomized Mode", playerStore.getLeaderboard(GameMode.RANDOM));
+        leaderboardTextArea.setText(display.toString());
+        Metrics.getInstance().histogram("leaderboard.build").recordSince(start);
+    }
 
-            // Log each player's data
-            for (PlayerData p : players) {
-                System.out.println("Player: " + p.username + ", Single Score: " + p.bestScoreSingle + ", Single Time: " + p.bestTimeSingle +
-                        ", Sequential Score: " + p.bestScoreSequential + ", Sequential Time: " + p.bestTimeSequential +
-                        ", Random Score: " + p.bestScoreRandom + ", Random Time: " + p.bestTimeRandom);
-            }
+    private void appendMode(StringBuilder display, String title, Leaderboard leaderboard) {
+        display.append("\n🔸 ").append(title).append(" (Sorted by Score, then Time):\n\n");
+        List<Leaderboard.Entry> top = leaderboard.top(TOP_PLAYERS);
+        System.out.println(title + " entries: " + leaderboard.size());
+        top.forEach(entry -> appendPlayerLine(display, entry.username(), entry.score(), formatTime(entry.timeMillis())));
 
-            StringBuilder display = new StringBuilder("🏆 Leaderboard\n");
-
-            // Single Mode
-            display.append("\n🔸 Single Mode (Sorted by Score, then Time):\n\n");
-            List<PlayerData> singleFiltered = players.stream()
-                    .filter(p -> p.username != null && !p.username.equalsIgnoreCase("unknown"))
-                    .filter(p -> p.bestScoreSingle > 0 || (p.bestTimeSingle != null && !p.bestTimeSingle.equals("00:00")))
-                    .sorted(Comparator
-                            .comparingInt((PlayerData p) -> -p.bestScoreSingle)
-                            .thenComparingLong(p -> parseTime(p.bestTimeSingle)))
-                    .toList();
-            System.out.println("Single Mode entries after filter: " + singleFiltered.size());
-            singleFiltered.forEach(p -> appendPlayerLine(display, p.username, p.bestScoreSingle, p.bestTimeSingle));
-
-            // Sequential Mode
-            display.append("\n🔸 Sequential Mode (Sorted by Score, then Time):\n\n");
-            List<PlayerData> sequentialFiltered = players.stream()
-                    .filter(p -> p.username != null && !p.username.equalsIgnoreCase("unknown"))
-                    .filter(p -> p.bestScoreSequential > 0 || (p.bestTimeSequential != null && !p.bestTimeSequential.equals("00:00")))
-                    .sorted(Comparator
-                            .comparingInt((PlayerData p) -> -p.bestScoreSequential)
-                            .thenComparingLong(p -> parseTime(p.bestTimeSequential)))
-                    .toList();
-            System.out.println("Sequential Mode entries after filter: " + sequentialFiltered.size());
-            sequentialFiltered.forEach(p -> appendPlayerLine(display, p.username, p.bestScoreSequential, p.bestTimeSequential));
-
-            // Randomized Mode
-            display.append("\n🔸 Randomized Mode (Sorted by Score, then Time):\n\n");
-            List<PlayerData> randomFiltered = players.stream()
-                    .filter(p -> p.username != null && !p.username.equalsIgnoreCase("unknown"))
-                    .filter(p -> p.bestScoreRandom > 0 || (p.bestTimeRandom != null && !p.bestTimeRandom.equals("00:00")))
-                    .sorted(Comparator
-                            .comparingInt((PlayerData p) -> -p.bestScoreRandom)
-                            .thenComparingLong(p -> parseTime(p.bestTimeRandom)))
-                    .toList();
-            System.out.println("Randomized Mode entries after filter: " + randomFiltered.size());
-            randomFiltered.forEach(p -> appendPlayerLine(display, p.username, p.bestScoreRandom, p.bestTimeRandom));
-
-            leaderboardTextArea.setText(display.toString());
-
-        } catch (IOException e) {
-            System.err.println("❌ Error reading players.json: " + e.getMessage());
-            e.printStackTrace();
-            leaderboardTextArea.setText("Error reading leaderboard: " + e.getMessage());
+        int total = leaderboard.size();
+        if (total > top.size()) {
+            display.append("... and ").append(total - top.size()).append(" more\n");
+        }
+        if (username != null) {
+            int rank = leaderboard.rankOf(username);
+            if (rank > 0) {
+                display.append("Your rank: #").append(rank).append(" of ").append(total).append("\n");
+            }
         }
     }
 
@@ -112,17 +81,10 @@ public class LeaderboardController {
                 .append(" | Time: ").append(time != null ? time : "N/A").append("\n");
     }
 
-    private long parseTime(String time) {
-        if (time == null || time.equals("00:00")) return Long.MAX_VALUE;
-        try {
-            String[] parts = time.split(":");
-            int minutes = Integer.parseInt(parts[0]);
-            int seconds = Integer.parseInt(parts[1]);
-            return (minutes * 60 + seconds) * 1000L; // Convert to milliseconds for sorting
-        } catch (Exception e) {
-            System.err.println("⚠️ Failed to parse time: " + time);
-            return Long.MAX_VALUE;
-        }
+    private String formatTime(long timeMillis) {
+        if (timeMillis == Long.MAX_VALUE) return null;
+        long seconds = timeMillis / 1000;
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
     }
 
     private void setupHoverEffect(Button backButton, String hoverColor, double scaleX, double scaleY) {
@@ -163,16 +125,4 @@ public class LeaderboardController {
             alert.showAndWait();
         });
     }
-
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    public static class PlayerData {
-        public String username;
-        public String lastLogin;
-        public int bestScoreSingle;
-        public String bestTimeSingle;
-        public int bestScoreSequential;
-        public String bestTimeSequential;
-        public int bestScoreRandom;
-        public String bestTimeRandom;
-    }
 }
\ No newline at end of file
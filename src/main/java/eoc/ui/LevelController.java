@@ -1,10 +1,13 @@
 package eoc.ui;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.echoesofcommand.ArchiveRecord;
+import com.echoesofcommand.GameEvents;
+import com.echoesofcommand.Metrics;
+import com.echoesofcommand.PlayPlan;
+import com.echoesofcommand.ScenarioCatalog;
 import eoc.ui.model.Leader;
 import eoc.ui.model.Choice;
+import eoc.ui.model.Decision;
 import eoc.ui.model.Level;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -13,24 +16,17 @@ import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.stage.Modality;
-import javafx.fxml.FXMLLoader;
 import javafx.animation.PauseTransition;
 import javafx.scene.media.AudioClip;
 import java.time.Duration;
 import java.time.Instant;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class LevelController {
+public class LevelController implements SceneCache.Resettable {
 
     @FXML private TextArea descriptionArea;
     @FXML private Button choiceOneButton;
@@ -39,24 +35,26 @@ public class LevelController {
     @FXML private ProgressBar progressBar;
 
     private List<Leader> allLeaders;
-    private List<Level> currentLevels;
+    private PlayPlan<Leader, Level> plan;
     private Leader currentLeader;
     private int currentIndex = 0;
     private int correctCount = 0;
     private String mode;
     private String username;
+    private String language;
     private Instant startTime;
-    private List<Map<String, Object>> archives;
-    private static final String ARCHIVE_JSON_PATH = "archive.json";
-    private static final Path ARCHIVE_FILE_PATH = Paths.get("Echoes_of_Command", ARCHIVE_JSON_PATH);
-    private static final Path PLAYERS_FILE_PATH = Paths.get("Echoes_of_Command", "players.json");
-    private static final Path STATS_FILE_PATH = Paths.get("Echoes_of_Command", "stats.json");
+    private List<Decision> decisions;
+    private PauseTransition pendingAdvance;
+    private long levelShownAt;
+    private String usernameHash;
+    private GameEvents.RoundEnd roundEvent;
+    private GameEvents.ChoiceMade choiceEvent;
 
     public void initializeGame(String mode, String leaderName, String username) {
         this.mode = mode;
         this.username = username != null ? username.toLowerCase() : "unknown";
         this.startTime = Instant.now();
-        this.archives = new ArrayList<>();
+        this.decisions = new ArrayList<>();
         this.correctCount = 0; // Reset correct count
         this.currentIndex = 0; // Reset index
         loadHistory();
@@ -69,62 +67,85 @@ public class LevelController {
         }
 
         if (mode.equals("SINGLE")) {
-            this.currentLeader = findLeaderByName(leaderName);
+            this.currentLeader = ScenarioCatalog.getInstance().guiLeader(LanguageManager.getInstance().getHistoryFilePath(), leaderName);
             if (this.currentLeader == null) {
                 showErrorAlert("Selected leader not found: " + leaderName);
                 return;
             }
-            this.currentLevels = new ArrayList<>(currentLeader.getLevels());
+            this.plan = PlayPlan.compileGui(List.of(currentLeader), false, null);
         } else if (mode.equals("SEQUENTIAL")) {
-            this.currentLevels = new ArrayList<>();
-            for (Leader l : allLeaders) currentLevels.addAll(l.getLevels());
+            this.plan = PlayPlan.compileGui(allLeaders, false, null);
         } else if (mode.equals("RANDOM")) {
-            this.currentLevels = new ArrayList<>();
-            for (Leader l : allLeaders) currentLevels.addAll(l.getLevels());
-            Collections.shuffle(currentLevels);
+            this.plan = PlayPlan.compileGui(allLeaders, true, ThreadLocalRandom.current());
         } else {
             showErrorAlert("Invalid mode: " + mode);
             return;
         }
 
-        if (currentLevels.isEmpty()) {
+        if (plan.size() == 0) {
             showErrorAlert("No levels available for the selected mode.");
             return;
         }
 
+        this.decisions = new ArrayList<>(plan.size());
         progressBar.setProgress(0.0);
-        System.out.println("Initialized game with " + currentLevels.size() + " levels, username: " + this.username);
-
+        System.out.println("Initialized game with " + plan.size() + " levels, username: " + this.username);
+
+        usernameHash = GameEvents.hashUsername(this.username);
+        GameEvents.RoundStart roundStart = new GameEvents.RoundStart();
+        if (roundStart.shouldCommit()) {
+            roundStart.mode = mode;
+            roundStart.usernameHash = usernameHash;
+            roundStart.levelCount = plan.size();
+            roundStart.commit();
+        }
+        roundEvent = new GameEvents.RoundEnd();
+        roundEvent.begin();
         showLevel();
     }
 
+    @Override
+    public void reset() {
+        cancelPendingAdvance();
+        plan = null;
+        currentLeader = null;
+        mode = null;
+        username = null;
+        decisions = null;
+        roundEvent = null;
+        choiceEvent = null;
+        descriptionArea.clear();
+        choiceOneButton.setText("");
+        choiceTwoButton.setText("");
+        resetButton(choiceOneButton);
+        resetButton(choiceTwoButton);
+        leaderPortrait.setImage(null);
+        progressBar.setProgress(0.0);
+    }
+
+    private void cancelPendingAdvance() {
+        if (pendingAdvance != null) {
+            pendingAdvance.stop();
+            pendingAdvance = null;
+        }
+    }
+
     private void loadHistory() {
-        ObjectMapper mapper = new ObjectMapper();
         String historyFilePath = LanguageManager.getInstance().getHistoryFilePath();
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream(historyFilePath)) {
-            if (input == null) {
-                System.err.println("❌ " + historyFilePath + " not found in resources.");
-                showErrorAlert("Failed to load game data.");
-                return;
-            }
-            allLeaders = mapper.readValue(input, new TypeReference<List<Leader>>() {});
+        language = ArchiveRecord.languageOf(historyFilePath);
+        try {
+            allLeaders = ScenarioCatalog.getInstance().guiLeaders(historyFilePath);
             System.out.println("Loaded " + allLeaders.size() + " leaders from " + historyFilePath);
-        } catch (IOException e) {
+        } catch (RuntimeException e) {
             System.err.println("❌ Failed to load " + historyFilePath + ": " + e.getMessage());
             showErrorAlert("Failed to load game data.");
         }
     }
 
-    private Leader findLeaderByName(String name) {
-        return allLeaders.stream().filter(l -> l.getName().equals(name)).findFirst().orElse(null);
-    }
-
     private void showLevel() {
-        if (currentIndex >= currentLevels.size()) {
+        if (currentIndex >= plan.size()) {
             try {
-                saveArchives();
-                updatePlayerStats();
-                updateStats();
+                saveRound();
                 System.out.println("Game ended: mode=" + mode + ", username=" + username + ", score=" + correctCount);
             } catch (Exception e) {
                 System.err.println("❌ Failed to save data: " + e.getMessage());
@@ -134,13 +155,15 @@ public class LevelController {
             return;
         }
 
-        Level level = currentLevels.get(currentIndex);
+        Level level = plan.level(currentIndex);
         if (level == null || level.getDescription() == null) {
             System.err.println("❌ Level or description is null at index " + currentIndex);
             showErrorAlert("Failed to load level data.");
             return;
         }
 
+        GameEvents.LevelShown shown = new GameEvents.LevelShown();
+        shown.begin();
         descriptionArea.setText(wrapText(level.getDescription(), 50));
         System.out.println("Displaying level " + currentIndex + " for mode=" + mode + ", username=" + username);
 
@@ -154,6 +177,17 @@ public class LevelController {
         resetButton(choiceTwoButton);
 
         updatePortrait();
+        levelShownAt = System.nanoTime();
+        if (shown.shouldCommit()) {
+            shown.mode = mode;
+            shown.usernameHash = usernameHash;
+            shown.leader = level.getLeader() != null ? level.getLeader().getName() : null;
+            shown.levelNumber = level.getNumber();
+            shown.levelIndex = currentIndex;
+            shown.commit();
+        }
+        choiceEvent = new GameEvents.ChoiceMade();
+        choiceEvent.begin();
     }
 
     private String wrapText(String text, int maxLineLength) {
@@ -179,53 +213,43 @@ public class LevelController {
     }
 
     private void updatePortrait() {
-        Leader effectiveLeader = (mode.equals("SINGLE")) ? currentLeader : findLeaderOf(currentLevels.get(currentIndex));
+        Leader effectiveLeader = plan.level(currentIndex).getLeader();
         if (effectiveLeader == null) {
             System.err.println("❌ No leader found for current level");
             return;
         }
-        String path = switch (effectiveLeader.getName()) {
-            case "Joseph Stalin" -> "/eoc/ui/joe.png";
-            case "Winston Churchill" -> "/eoc/ui/winston.png";
-            case "Charles de Gaulle" -> "/eoc/ui/charles.png";
-            case "Franklin D. Roosevelt" -> "/eoc/ui/frank.png";
-            default -> null;
-        };
-        if (path != null) {
-            try {
-                leaderPortrait.setImage(new Image(getClass().getResource(path).toExternalForm()));
-            } catch (Exception e) {
-                System.err.println("❌ Failed to load image: " + path);
-            }
+        Image portrait = AssetManager.getInstance().portrait(effectiveLeader.getName(),
+                leaderPortrait.getFitWidth(), leaderPortrait.getFitHeight());
+        if (portrait != null) {
+            leaderPortrait.setImage(portrait);
         }
     }
 
-    private Leader findLeaderOf(Level level) {
-        for (Leader l : allLeaders) {
-            if (l.getLevels().contains(level)) return l;
+    private void prefetchNextPortrait() {
+        if (currentIndex < plan.size() && plan.level(currentIndex).getLeader() != null) {
+            AssetManager.getInstance().prefetchPortrait(plan.level(currentIndex).getLeader().getName(),
+                    leaderPortrait.getFitWidth(), leaderPortrait.getFitHeight());
         }
-        return null;
     }
 
     private void handleChoice(int choiceIndex, Button clickedButton) {
-        Level level = currentLevels.get(currentIndex);
-        Choice choice = level.getChoices().get(choiceIndex);
-        boolean correct = choice.isHistorical();
-
-        System.out.println("Choice " + choiceIndex + " selected: " + choice.getText() + ", isHistorical: " + correct + ", username: " + username + ", mode: " + mode);
-
-        Leader effectiveLeader = (mode.equals("SINGLE")) ? currentLeader : findLeaderOf(level);
-        String leaderName = effectiveLeader != null ? effectiveLeader.getName() : "Unknown";
-        Map<String, Object> archive = new HashMap<>();
-        archive.put("username", username);
-        archive.put("leader", leaderName);
-        archive.put("levelNumber", level.getNumber());
-        archive.put("description", level.getDescription());
-        archive.put("historicalChoice", level.getChoices().stream().filter(Choice::isHistorical).findFirst().map(Choice::getText).orElse(""));
-        archive.put("summary", level.getSummary());
-        archive.put("playerChoice", choice.getText());
-        archive.put("isCorrect", correct);
-        archives.add(archive);
+        Metrics.getInstance().histogram("decision").recordSince(levelShownAt);
+        Metrics.getInstance().counter("decisions").increment();
+        Decision decision = new Decision(plan.level(currentIndex), (byte) choiceIndex,
+                (byte) plan.historicalChoice(currentIndex), System.currentTimeMillis());
+        decisions.add(decision);
+        boolean correct = decision.isCorrect();
+        if (choiceEvent != null && choiceEvent.shouldCommit()) {
+            Level level = plan.level(currentIndex);
+            choiceEvent.mode = mode;
+            choiceEvent.usernameHash = usernameHash;
+            choiceEvent.leader = level.getLeader() != null ? level.getLeader().getName() : null;
+            choiceEvent.levelNumber = level.getNumber();
+            choiceEvent.choice = choiceIndex;
+            choiceEvent.correct = correct;
+            choiceEvent.commit();
+        }
+        choiceEvent = null;
 
         if (correct) {
             clickedButton.setStyle("-fx-background-color: green;");
@@ -237,14 +261,17 @@ public class LevelController {
         choiceOneButton.setDisable(true);
         choiceTwoButton.setDisable(true);
 
-        double progress = (double) correctCount / currentLevels.size();
+        double progress = (double) correctCount / plan.size();
         progressBar.setProgress(progress);
-        System.out.println("Progress: correctCount=" + correctCount + "/" + currentLevels.size() + ", mode=" + mode);
 
         currentIndex++;
-        PauseTransition pause = new PauseTransition(javafx.util.Duration.seconds(1));
-        pause.setOnFinished(event -> showLevel());
-        pause.play();
+        prefetchNextPortrait();
+        pendingAdvance = new PauseTransition(javafx.util.Duration.seconds(1));
+        pendingAdvance.setOnFinished(event -> {
+            pendingAdvance = null;
+            showLevel();
+        });
+        pendingAdvance.play();
     }
 
     @FXML
@@ -265,261 +292,35 @@ public class LevelController {
         return String.format("%02d:%02d", minutes, seconds);
     }
 
-    private void saveArchives() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> allArchives = new ArrayList<>();
-
-        System.out.println("Saving archives: username=" + username + ", mode=" + mode + ", new entries=" + archives.size());
-
-        // Load existing archives
-        try {
-            if (Files.exists(ARCHIVE_FILE_PATH)) {
-                try (InputStream input = Files.newInputStream(ARCHIVE_FILE_PATH)) {
-                    allArchives = mapper.readValue(input, new TypeReference<List<Map<String, Object>>>() {});
-                    System.out.println("Loaded " + allArchives.size() + " existing archive entries");
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to load archive.json: " + e.getMessage());
-        }
-
-        // Add new archives, avoiding duplicates
-        Set<String> existingKeys = allArchives.stream()
-                .filter(entry -> entry.get("username") != null && entry.get("leader") != null && entry.get("levelNumber") != null)
-                .map(entry -> String.format("%s:%s:%d",
-                        entry.get("username").toString().toLowerCase(),
-                        entry.get("leader").toString(),
-                        ((Number) entry.get("levelNumber")).intValue()))
-                .collect(Collectors.toSet());
-
-        for (Map<String, Object> archive : archives) {
-            if (archive.get("username") == null || archive.get("leader") == null || archive.get("levelNumber") == null) {
-                System.err.println("⚠️ Skipping invalid archive entry: " + archive);
-                continue;
-            }
-            String key = String.format("%s:%s:%d",
-                    archive.get("username").toString().toLowerCase(),
-                    archive.get("leader").toString(),
-                    ((Number) archive.get("levelNumber")).intValue());
-            if (!existingKeys.contains(key)) {
-                allArchives.add(archive);
-                existingKeys.add(key);
-                System.out.println("Added archive entry: " + key);
-            } else {
-                System.out.println("Skipped duplicate archive entry: " + key);
-            }
-        }
-
-        // Save updated archives
-        try {
-            Path dir = ARCHIVE_FILE_PATH.getParent();
-            if (dir != null) Files.createDirectories(dir);
-            try (OutputStream output = Files.newOutputStream(ARCHIVE_FILE_PATH)) {
-                mapper.writerWithDefaultPrettyPrinter().writeValue(output, allArchives);
-                System.out.println("Saved " + allArchives.size() + " total archive entries");
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to save archive.json: " + e.getMessage());
-        }
-    }
-
-    private void updatePlayerStats() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<PlayerStats> players = loadPlayers();
-        String elapsedTime = getElapsedTime();
-        int score = correctCount;
-
-        System.out.println("Updating player stats: username=" + username + ", mode=" + mode + ", score=" + score + ", time=" + elapsedTime);
-
-        PlayerStats currentPlayer = players.stream()
-                .filter(p -> p.username != null && p.username.toLowerCase().equals(username))
-                .findFirst()
-                .orElseGet(() -> {
-                    PlayerStats newPlayer = new PlayerStats();
-                    newPlayer.username = username;
-                    players.add(newPlayer);
-                    System.out.println("Created new player entry for username=" + username);
-                    return newPlayer;
-                });
-
-        String scoreKey = switch (mode) {
-            case "RANDOM" -> "bestScoreRandom";
-            case "SEQUENTIAL" -> "bestScoreSequential";
-            case "SINGLE" -> "bestScoreSingle";
-            default -> {
-                System.err.println("❌ Invalid mode: " + mode);
-                yield null;
-            }
-        };
-        String timeKey = switch (mode) {
-            case "RANDOM" -> "bestTimeRandom";
-            case "SEQUENTIAL" -> "bestTimeSequential";
-            case "SINGLE" -> "bestTimeSingle";
-            default -> {
-                System.err.println("❌ Invalid mode: " + mode);
-                yield null;
-            }
-        };
-
-        if (scoreKey == null || timeKey == null) {
-            System.err.println("❌ Skipping player stats update due to invalid mode: " + mode);
-            return;
-        }
-
-        // Update best score and time
-        int currentBestScore = switch (scoreKey) {
-            case "bestScoreSingle" -> currentPlayer.bestScoreSingle;
-            case "bestScoreSequential" -> currentPlayer.bestScoreSequential;
-            case "bestScoreRandom" -> currentPlayer.bestScoreRandom;
-            default -> 0;
-        };
-        String currentBestTime = switch (timeKey) {
-            case "bestTimeSingle" -> currentPlayer.bestTimeSingle != null ? currentPlayer.bestTimeSingle : "99:99";
-            case "bestTimeSequential" -> currentPlayer.bestTimeSequential != null ? currentPlayer.bestTimeSequential : "99:99";
-            case "bestTimeRandom" -> currentPlayer.bestTimeRandom != null ? currentPlayer.bestTimeRandom : "99:99";
-            default -> "99:99";
-        };
-
-        boolean updated = false;
-        if (score > currentBestScore) {
-            switch (scoreKey) {
-                case "bestScoreSingle" -> currentPlayer.bestScoreSingle = score;
-                case "bestScoreSequential" -> currentPlayer.bestScoreSequential = score;
-                case "bestScoreRandom" -> currentPlayer.bestScoreRandom = score;
-            }
-            switch (timeKey) {
-                case "bestTimeSingle" -> currentPlayer.bestTimeSingle = elapsedTime;
-                case "bestTimeSequential" -> currentPlayer.bestTimeSequential = elapsedTime;
-                case "bestTimeRandom" -> currentPlayer.bestTimeRandom = elapsedTime;
-            }
-            updated = true;
-            System.out.println("Updated " + scoreKey + "=" + score + ", " + timeKey + "=" + elapsedTime);
-        } else if (score == currentBestScore && compareTimes(elapsedTime, currentBestTime) < 0) {
-            switch (timeKey) {
-                case "bestTimeSingle" -> currentPlayer.bestTimeSingle = elapsedTime;
-                case "bestTimeSequential" -> currentPlayer.bestTimeSequential = elapsedTime;
-                case "bestTimeRandom" -> currentPlayer.bestTimeRandom = elapsedTime;
-            }
-            updated = true;
-            System.out.println("Updated " + timeKey + "=" + elapsedTime + " (same score, better time)");
-        }
-
-        if (updated) {
-            try {
-                Path dir = PLAYERS_FILE_PATH.getParent();
-                if (dir != null) Files.createDirectories(dir);
-                try (OutputStream output = Files.newOutputStream(PLAYERS_FILE_PATH)) {
-                    mapper.writerWithDefaultPrettyPrinter().writeValue(output, players);
-                    System.out.println("Saved player stats for username=" + username + ", mode=" + mode);
-                }
-            } catch (IOException e) {
-                System.err.println("❌ Failed to save players.json: " + e.getMessage());
-            }
-        } else {
-            System.out.println("No update needed for username=" + username + ", mode=" + mode);
-        }
-    }
-
-    private void updateStats() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<StatsData> stats = loadStats();
+    private void saveRound() {
+        if (plan == null) return; // initializeGame failed, so there is no round to save
         Duration duration = Duration.between(startTime, Instant.now());
-        double elapsedTimeSeconds = duration.toMillis() / 1000.0;
-
-        System.out.println("Updating stats: username=" + username + ", mode=" + mode + ", levels=" + currentLevels.size() + ", correct=" + correctCount);
-
-        StatsData currentStats = stats.stream()
-                .filter(s -> s.username != null && s.username.toLowerCase().equals(username))
-                .findFirst()
-                .orElseGet(() -> {
-                    StatsData newStats = new StatsData();
-                    newStats.username = username;
-                    stats.add(newStats);
-                    return newStats;
-                });
-
-        int previousLevels = currentStats.totalLevelsPlayed;
-        double previousTotalTime = currentStats.averageTime * previousLevels;
-        currentStats.totalLevelsPlayed += currentLevels.size();
-        currentStats.totalCorrectChoices += correctCount;
-        currentStats.averageTime = previousLevels > 0 ?
-                (previousTotalTime + elapsedTimeSeconds) / currentStats.totalLevelsPlayed :
-                elapsedTimeSeconds / currentStats.totalLevelsPlayed;
-
-        try {
-            Path dir = STATS_FILE_PATH.getParent();
-            if (dir != null) Files.createDirectories(dir);
-            try (OutputStream output = Files.newOutputStream(STATS_FILE_PATH)) {
-                mapper.writerWithDefaultPrettyPrinter().writeValue(output, stats);
-                System.out.println("Saved stats for username=" + username);
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to save stats.json: " + e.getMessage());
-        }
-    }
-
-    private List<StatsData> loadStats() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<StatsData> stats = new ArrayList<>();
-        try {
-            if (Files.exists(STATS_FILE_PATH)) {
-                try (InputStream input = Files.newInputStream(STATS_FILE_PATH)) {
-                    stats = mapper.readValue(input, new TypeReference<List<StatsData>>() {});
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to load stats.json: " + e.getMessage());
-        }
-        return stats;
-    }
-
-    private List<PlayerStats> loadPlayers() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<PlayerStats> players = new ArrayList<>();
-        try {
-            if (Files.exists(PLAYERS_FILE_PATH)) {
-                try (InputStream input = Files.newInputStream(PLAYERS_FILE_PATH)) {
-                    players = mapper.readValue(input, new TypeReference<List<PlayerStats>>() {});
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to load players.json: " + e.getMessage());
-        }
-        return players;
-    }
-
-    private int compareTimes(String time1, String time2) {
-        try {
-            String[] parts1 = time1.split(":");
-            String[] parts2 = time2.split(":");
-            int minutes1 = Integer.parseInt(parts1[0]);
-            int seconds1 = Integer.parseInt(parts1[1]);
-            int minutes2 = Integer.parseInt(parts2[0]);
-            int seconds2 = Integer.parseInt(parts2[1]);
-            return (minutes1 * 60 + seconds1) - (minutes2 * 60 + seconds2);
-        } catch (Exception e) {
-            System.err.println("⚠️ Failed to compare times: " + time1 + " vs " + time2);
-            return 0;
+        RoundPersistence.getInstance().submit(new RoundPersistence.RoundResult(
+                username, mode, correctCount, plan.size(),
+                getElapsedTime(), duration.toMillis() / 1000.0, language, List.copyOf(decisions)));
+        if (roundEvent != null && roundEvent.shouldCommit()) {
+            roundEvent.mode = mode;
+            roundEvent.usernameHash = usernameHash;
+            roundEvent.levelCount = plan.size();
+            roundEvent.levelsPlayed = decisions.size();
+            roundEvent.score = correctCount;
+            roundEvent.completed = decisions.size() == plan.size();
+            roundEvent.commit();
         }
+        roundEvent = null;
     }
 
     private void goToEndScreen() {
-        try {
-            String soundPath = getClass().getResource("/eoc/ui/endround.wav").toExternalForm();
-            if (soundPath != null) {
-                AudioClip endSound = new AudioClip(soundPath);
-                endSound.play();
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Failed to play end round sound");
+        AudioClip endSound = AssetManager.getInstance().sound("endRound");
+        if (endSound != null) {
+            endSound.play();
         }
 
         Platform.runLater(() -> {
             try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/EndRound.fxml"));
-                Scene scene = new Scene(loader.load());
-                EndRoundController controller = loader.getController();
-                controller.setScore("Score: " + correctCount + " / " + currentLevels.size());
+                SceneCache.View<EndRoundController> view = SceneCache.getInstance().load("/eoc/ui/EndRound.fxml");
+                EndRoundController controller = view.controller();
+                controller.setScore("Score: " + correctCount + " / " + plan.size());
                 controller.setTime("Time: " + getElapsedTime());
 
                 Stage mainStage = (Stage) descriptionArea.getScene().getWindow();
@@ -529,7 +330,7 @@ public class LevelController {
                 dialogStage.initModality(Modality.APPLICATION_MODAL);
                 dialogStage.initOwner(mainStage);
                 dialogStage.setTitle("Round Ended");
-                dialogStage.setScene(scene);
+                dialogStage.setScene(view.scene());
                 dialogStage.setResizable(false);
                 dialogStage.showAndWait();
             } catch (IOException e) {
@@ -542,16 +343,12 @@ public class LevelController {
     @FXML
     private void onBackButtonClick(ActionEvent event) {
         try {
-            saveArchives();
-            updatePlayerStats();
-            updateStats();
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Playmode.fxml"));
-            Scene scene = new Scene(loader.load());
-            PlaymodeController controller = loader.getController();
-            controller.setUsername(username);
-
+            // Leaving mid-round must not let the scheduled next level run on a hidden view
+            cancelPendingAdvance();
+            saveRound();
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(scene);
+            SceneCache.getInstance().<PlaymodeController>show(stage, "/eoc/ui/Playmode.fxml",
+                    controller -> controller.setUsername(username));
             stage.setResizable(false);
             System.out.println("Returned to Playmode, username=" + username);
         } catch (IOException e) {
@@ -570,24 +367,4 @@ public class LevelController {
             alert.showAndWait();
         });
     }
-
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    public static class PlayerStats {
-        public String username;
-        public String lastLogin;
-        public String bestTimeSingle;
-        public String bestTimeSequential;
-        public String bestTimeRandom;
-        public int bestScoreSingle;
-        public int bestScoreSequential;
-        public int bestScoreRandom;
-    }
-
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    public static class StatsData {
-        public String username;
-        public int totalLevelsPlayed;
-        public int totalCorrectChoices;
-        public double averageTime;
-    }
 }
\ No newline at end of file
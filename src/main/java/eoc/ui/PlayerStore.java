@@ -0,0 +1,543 @@
+package eoc.ui;
+
+import com.echoesofcommand.GameEvents;
+import com.echoesofcommand.GameMode;
+import com.echoesofcommand.Leaderboard;
+import com.echoesofcommand.Metrics;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single in-memory copy of players.json and stats.json, indexed by lowercase username.
+ * Files are read once; every change is appended as one line to players.journal instead of
+ * rewriting both files. The journal is folded back into players.json and stats.json by
+ * {@link #checkpointIfNeeded()} once it holds more lines than there are players, so the
+ * cost of a change stays constant however many players there are.
+ */
+public class PlayerStore {
+    private static final int MIN_CHECKPOINT_LINES = 1000;
+    private static final PlayerStore INSTANCE = new PlayerStore(Paths.get("Echoes_of_Command"));
+
+    private final Path playersFilePath;
+    private final Path statsFilePath;
+    private final Path journalFilePath;
+    private final Path foldingJournalFilePath;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, PlayerStats> players = new LinkedHashMap<>();
+    private final Map<String, StatsData> stats = new LinkedHashMap<>();
+    private final Map<GameMode, Leaderboard> leaderboards = new EnumMap<>(GameMode.class);
+    private BufferedWriter journal;
+    private int journalLines;
+    private boolean loaded;
+    private boolean checkpointing;
+    private long version;
+
+    public PlayerStore(Path dataDir) {
+        this.playersFilePath = dataDir.resolve("players.json");
+        this.statsFilePath = dataDir.resolve("stats.json");
+        this.journalFilePath = dataDir.resolve("players.journal");
+        this.foldingJournalFilePath = dataDir.resolve("players.journal.folding");
+        for (GameMode mode : GameMode.values()) {
+            leaderboards.put(mode, new Leaderboard());
+        }
+    }
+
+    public static PlayerStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a login, creating the player (and empty stats) on first login.
+     * @return the previous login time, or null if the player is new
+     */
+    public synchronized String recordLogin(String username) {
+        load();
+        String key = keyOf(username);
+        PlayerStats player = players.get(key);
+        String lastLogin = player != null ? player.lastLogin : null;
+        boolean isNew = player == null;
+        if (isNew) {
+            player = new PlayerStats();
+            player.username = key;
+            players.put(key, player);
+        }
+        player.lastLogin = Instant.now().toString();
+
+        StatsData playerStats = null;
+        if (isNew && !stats.containsKey(key)) {
+            playerStats = new StatsData();
+            playerStats.username = key;
+            stats.put(key, playerStats);
+        }
+        appendChange(player, playerStats);
+        return isNew ? null : lastLogin;
+    }
+
+    /**
+     * Applies a finished round: best score/time for the mode and the overall stats.
+     */
+    public synchronized void recordRound(String username, String mode, int score, int levelCount,
+                                         String elapsedTime, double elapsedSeconds) {
+        load();
+        String key = keyOf(username);
+        PlayerStats player = players.get(key);
+        if (player == null) {
+            player = new PlayerStats();
+            player.username = key;
+            players.put(key, player);
+            System.out.println("Created new player entry for username=" + key);
+        }
+        boolean playerUpdated = applyBestScore(player, mode, score, elapsedTime);
+        if (playerUpdated) {
+            updateRankings(player);
+        }
+
+        StatsData current = stats.computeIfAbsent(key, k -> {
+            StatsData newStats = new StatsData();
+            newStats.username = k;
+            return newStats;
+        });
+        System.out.println("Updating stats: username=" + key + ", mode=" + mode + ", levels=" + levelCount + ", correct=" + score);
+        int previousLevels = current.totalLevelsPlayed;
+        double previousTotalTime = current.averageTime * previousLevels;
+        current.totalLevelsPlayed += levelCount;
+        current.totalCorrectChoices += score;
+        if (current.totalLevelsPlayed > 0) {
+            current.averageTime = previousLevels > 0 ?
+                    (previousTotalTime + elapsedSeconds) / current.totalLevelsPlayed :
+                    elapsedSeconds / current.totalLevelsPlayed;
+        }
+
+        appendChange(playerUpdated ? player : null, current);
+    }
+
+    /**
+     * @return a copy of the player's record, or null if unknown
+     */
+    public synchronized PlayerStats getPlayer(String username) {
+        load();
+        PlayerStats player = players.get(keyOf(username));
+        return player != null ? player.copy() : null;
+    }
+
+    /**
+     * @return a copy of the player's stats, or null if unknown
+     */
+    public synchronized StatsData getStats(String username) {
+        load();
+        StatsData data = stats.get(keyOf(username));
+        return data != null ? data.copy() : null;
+    }
+
+    /**
+     * @return copies of all player records, in file order
+     */
+    public synchronized List<PlayerStats> getPlayers() {
+        load();
+        List<PlayerStats> copies = new ArrayList<>(players.size());
+        for (PlayerStats player : players.values()) {
+            copies.add(player.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Gets the live leaderboard of a mode; it is updated as rounds are recorded.
+     */
+    public synchronized Leaderboard getLeaderboard(GameMode mode) {
+        load();
+        return leaderboards.get(mode);
+    }
+
+    public synchronized int size() {
+        load();
+        return players.size();
+    }
+
+    /**
+     * @return a number that changes whenever a player or their stats change, for cache validation
+     */
+    public synchronized long getVersion() {
+        load();
+        return version;
+    }
+
+    /**
+     * Rewrites players.json and stats.json and empties the journal once the journal holds
+     * more lines than there are players (at least {@value #MIN_CHECKPOINT_LINES}).
+     */
+    public void checkpointIfNeeded() {
+        boolean due;
+        synchronized (this) {
+            due = loaded && journalLines > Math.max(MIN_CHECKPOINT_LINES, players.size());
+        }
+        if (due) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Rewrites players.json and stats.json from memory and empties the journal.
+     * Only the copy of the maps holds the lock; the files are written outside it, while
+     * new changes go to a fresh journal, so logins and lookups do not wait for the rewrite.
+     */
+    public void checkpoint() {
+        List<PlayerStats> playerCopies = new ArrayList<>();
+        List<StatsData> statsCopies = new ArrayList<>();
+        int folded;
+        synchronized (this) {
+            if (!loaded || journalLines == 0 || checkpointing) return;
+            for (PlayerStats player : players.values()) playerCopies.add(player.copy());
+            for (StatsData data : stats.values()) statsCopies.add(data.copy());
+            try {
+                closeJournal();
+                if (Files.exists(journalFilePath)) {
+                    Files.move(journalFilePath, foldingJournalFilePath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Failed to checkpoint player data: " + e.getMessage());
+                return;
+            }
+            folded = journalLines;
+            journalLines = 0;
+            checkpointing = true;
+        }
+
+        long start = System.nanoTime();
+        GameEvents.PlayerStatsUpdate event = new GameEvents.PlayerStatsUpdate();
+        event.begin();
+        try {
+            long written = writeAtomically(playersFilePath, playerCopies);
+            written += writeAtomically(statsFilePath, statsCopies);
+            synchronized (this) {
+                Files.deleteIfExists(foldingJournalFilePath);
+                checkpointing = false;
+            }
+            System.out.println("PlayerStore: Checkpointed " + playerCopies.size() + " players (" + folded + " journal lines folded)");
+            Metrics.getInstance().histogram("persistence.write", "target", "players.checkpoint").recordSince(start);
+            if (event.shouldCommit()) {
+                event.target = "players.checkpoint";
+                event.players = playerCopies.size();
+                event.bytesWritten = written;
+                event.commit();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to checkpoint player data: " + e.getMessage());
+            restoreFoldingJournal(folded);
+        }
+    }
+
+    /**
+     * Puts the lines of a failed checkpoint back in front of the journal, so they are still
+     * replayed and folded by the next checkpoint.
+     */
+    private synchronized void restoreFoldingJournal(int folded) {
+        try {
+            closeJournal();
+            if (Files.exists(journalFilePath)) {
+                Files.write(foldingJournalFilePath, Files.readAllBytes(journalFilePath), StandardOpenOption.APPEND);
+            }
+            Files.move(foldingJournalFilePath, journalFilePath, StandardCopyOption.REPLACE_EXISTING);
+            journalLines += folded;
+        } catch (IOException e) {
+            System.err.println("❌ Failed to restore players.journal: " + e.getMessage());
+        } finally {
+            checkpointing = false;
+        }
+    }
+
+    private void load() {
+        if (loaded) return;
+        loaded = true;
+        long start = System.nanoTime();
+        for (PlayerStats player : readList(playersFilePath, new TypeReference<List<PlayerStats>>() {})) {
+            if (player.username != null) players.putIfAbsent(keyOf(player.username), player);
+        }
+        for (StatsData data : readList(statsFilePath, new TypeReference<List<StatsData>>() {})) {
+            if (data.username != null) stats.putIfAbsent(keyOf(data.username), data);
+        }
+        // A checkpoint interrupted by a crash leaves its older lines in the folding journal
+        replayJournal(foldingJournalFilePath);
+        replayJournal(journalFilePath);
+        for (PlayerStats player : players.values()) {
+            updateRankings(player);
+        }
+        System.out.printf("PlayerStore: Loaded %d players in %.2f ms%n", players.size(), (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private <T> List<T> readList(Path path, TypeReference<List<T>> type) {
+        try {
+            if (Files.exists(path)) {
+                try (InputStream input = Files.newInputStream(path)) {
+                    List<T> list = mapper.readValue(input, type);
+                    return list != null ? list : List.of();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to load " + path.getFileName() + ": " + e.getMessage());
+        }
+        return List.of();
+    }
+
+    private void replayJournal(Path path) {
+        if (!Files.exists(path)) return;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                PlayerStats player;
+                StatsData data;
+                try {
+                    JsonNode change = mapper.readTree(line);
+                    player = change.hasNonNull("player") ? mapper.treeToValue(change.get("player"), PlayerStats.class) : null;
+                    data = change.hasNonNull("stats") ? mapper.treeToValue(change.get("stats"), StatsData.class) : null;
+                } catch (IOException e) {
+                    System.err.println("⚠️ Ignoring damaged " + path.getFileName() + " line: " + e.getMessage());
+                    continue;
+                }
+                if (player != null && player.username != null) {
+                    players.put(keyOf(player.username), player);
+                }
+                if (data != null && data.username != null) {
+                    stats.put(keyOf(data.username), data);
+                }
+                journalLines++;
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to read " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private void appendChange(PlayerStats player, StatsData data) {
+        if (player == null && data == null) return;
+        version++;
+        long start = System.nanoTime();
+        GameEvents.PlayerStatsUpdate event = new GameEvents.PlayerStatsUpdate();
+        event.begin();
+        ObjectNode change = mapper.createObjectNode();
+        if (player != null) change.set("player", mapper.valueToTree(player));
+        if (data != null) change.set("stats", mapper.valueToTree(data));
+        try {
+            if (journal == null) {
+                Path dir = journalFilePath.getParent();
+                if (dir != null) Files.createDirectories(dir);
+                journal = Files.newBufferedWriter(journalFilePath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            String line = mapper.writeValueAsString(change);
+            journal.write(line);
+            journal.newLine();
+            journal.flush();
+            journalLines++;
+            Metrics.getInstance().histogram("persistence.write", "target", "players.journal").recordSince(start);
+            if (event.shouldCommit()) {
+                event.target = "players.journal";
+                event.usernameHash = GameEvents.hashUsername(player != null ? player.username : data.username);
+                event.players = 1;
+                event.bytesWritten = line.getBytes(StandardCharsets.UTF_8).length + 1L;
+                event.commit();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to write players.journal: " + e.getMessage());
+        }
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private long writeAtomically(Path path, Object value) throws IOException {
+        Path dir = path.getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(tmp)) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(output, value);
+        }
+        long written = Files.size(tmp);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    private boolean applyBestScore(PlayerStats player, String mode, int score, String elapsedTime) {
+        System.out.println("Updating player stats: username=" + player.username + ", mode=" + mode + ", score=" + score + ", time=" + elapsedTime);
+        int currentBestScore;
+        String currentBestTime;
+        switch (mode) {
+            case "SINGLE" -> {
+                currentBestScore = player.bestScoreSingle;
+                currentBestTime = player.bestTimeSingle;
+            }
+            case "SEQUENTIAL" -> {
+                currentBestScore = player.bestScoreSequential;
+                currentBestTime = player.bestTimeSequential;
+            }
+            case "RANDOM" -> {
+                currentBestScore = player.bestScoreRandom;
+                currentBestTime = player.bestTimeRandom;
+            }
+            default -> {
+                System.err.println("❌ Skipping player stats update due to invalid mode: " + mode);
+                return false;
+            }
+        }
+        if (currentBestTime == null) currentBestTime = "99:99";
+
+        if (score > currentBestScore) {
+            setBest(player, mode, score, elapsedTime);
+            System.out.println("Updated best " + mode + " score=" + score + ", time=" + elapsedTime);
+            return true;
+        } else if (score == currentBestScore && compareTimes(elapsedTime, currentBestTime) < 0) {
+            setBest(player, mode, score, elapsedTime);
+            System.out.println("Updated best " + mode + " time=" + elapsedTime + " (same score, better time)");
+            return true;
+        }
+        System.out.println("No update needed for username=" + player.username + ", mode=" + mode);
+        return false;
+    }
+
+    /**
+     * Ranks a player on each mode they have a best score or time for; "unknown" is never ranked.
+     */
+    private void updateRankings(PlayerStats player) {
+        for (GameMode mode : GameMode.values()) {
+            int score = switch (mode) {
+                case SINGLE -> player.bestScoreSingle;
+                case SEQUENTIAL -> player.bestScoreSequential;
+                case RANDOM -> player.bestScoreRandom;
+            };
+            String time = switch (mode) {
+                case SINGLE -> player.bestTimeSingle;
+                case SEQUENTIAL -> player.bestTimeSequential;
+                case RANDOM -> player.bestTimeRandom;
+            };
+            long timeMillis = parseTimeMillis(time);
+            Leaderboard leaderboard = leaderboards.get(mode);
+            String key = keyOf(player.username);
+            if (!key.equals("unknown") && (score > 0 || timeMillis != Long.MAX_VALUE)) {
+                leaderboard.update(key, score, timeMillis);
+            } else {
+                leaderboard.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Parses "mm:ss" once, when a best time is stored, so ranking never parses strings.
+     * @return the time in milliseconds, or Long.MAX_VALUE for a missing or "00:00" time
+     */
+    static long parseTimeMillis(String time) {
+        if (time == null || time.equals("00:00")) return Long.MAX_VALUE;
+        try {
+            String[] parts = time.split(":");
+            int minutes = Integer.parseInt(parts[0]);
+            int seconds = Integer.parseInt(parts[1]);
+            return (minutes * 60 + seconds) * 1000L;
+        } catch (Exception e) {
+            System.err.println("⚠️ Failed to parse time: " + time);
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void setBest(PlayerStats player, String mode, int score, String elapsedTime) {
+        switch (mode) {
+            case "SINGLE" -> {
+                player.bestScoreSingle = score;
+                player.bestTimeSingle = elapsedTime;
+            }
+            case "SEQUENTIAL" -> {
+                player.bestScoreSequential = score;
+                player.bestTimeSequential = elapsedTime;
+            }
+            case "RANDOM" -> {
+                player.bestScoreRandom = score;
+                player.bestTimeRandom = elapsedTime;
+            }
+        }
+    }
+
+    private static int compareTimes(String time1, String time2) {
+        try {
+            String[] parts1 = time1.split(":");
+            String[] parts2 = time2.split(":");
+            int minutes1 = Integer.parseInt(parts1[0]);
+            int seconds1 = Integer.parseInt(parts1[1]);
+            int minutes2 = Integer.parseInt(parts2[0]);
+            int seconds2 = Integer.parseInt(parts2[1]);
+            return (minutes1 * 60 + seconds1) - (minutes2 * 60 + seconds2);
+        } catch (Exception e) {
+            System.err.println("⚠️ Failed to compare times: " + time1 + " vs " + time2);
+            return 0;
+        }
+    }
+
+    private static String keyOf(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PlayerStats {
+        public String username;
+        public String lastLogin;
+        public String bestTimeSingle;
+        public String bestTimeSequential;
+        public String bestTimeRandom;
+        public int bestScoreSingle;
+        public int bestScoreSequential;
+        public int bestScoreRandom;
+
+        PlayerStats copy() {
+            PlayerStats copy = new PlayerStats();
+            copy.username = username;
+            copy.lastLogin = lastLogin;
+            copy.bestTimeSingle = bestTimeSingle;
+            copy.bestTimeSequential = bestTimeSequential;
+            copy.bestTimeRandom = bestTimeRandom;
+            copy.bestScoreSingle = bestScoreSingle;
+            copy.bestScoreSequential = bestScoreSequential;
+            copy.bestScoreRandom = bestScoreRandom;
+            return copy;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StatsData {
+        public String username;
+        public int totalLevelsPlayed;
+        public int totalCorrectChoices;
+        public double averageTime;
+
+        StatsData copy() {
+            StatsData copy = new StatsData();
+            copy.username = username;
+            copy.totalLevelsPlayed = totalLevelsPlayed;
+            copy.totalCorrectChoices = totalCorrectChoices;
+            copy.averageTime = averageTime;
+            return copy;
+        }
+    }
+}
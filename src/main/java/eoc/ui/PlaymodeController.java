@@ -1,9 +1,6 @@
 package eoc.ui;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Alert;
@@ -14,8 +11,10 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.effect.DropShadow;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class PlaymodeController {
+public class PlaymodeController implements SceneCache.Resettable {
 
     @FXML private Button randomButton;
     @FXML private Button sequentialButton;
@@ -25,6 +24,7 @@ public class PlaymodeController {
     @FXML private Menu archiveButton;
     @FXML private Menu courseButton;
     private String username;
+    private final Map<Button, String> originalStyles = new LinkedHashMap<>();
 
     public void setUsername(String username) {
         this.username = username != null ? username.toLowerCase() : "unknown";
@@ -44,6 +44,18 @@ public class PlaymodeController {
         bindMenuItem(courseButton, this::onCourseMenuItemClick);
     }
 
+    @Override
+    public void reset() {
+        username = null;
+        // The button that navigated away never received its mouse-exited event
+        originalStyles.forEach((button, style) -> {
+            button.setStyle(style);
+            button.setScaleX(1.0);
+            button.setScaleY(1.0);
+            button.setEffect(null);
+        });
+    }
+
     private void bindMenuItem(Menu menu, Runnable action) {
         if (menu != null && !menu.getItems().isEmpty()) {
             menu.getItems().get(0).setOnAction(event -> action.run());
@@ -55,6 +67,7 @@ public class PlaymodeController {
     private void setupHoverEffect(Button button, String hoverColor, double scaleX, double scaleY) {
         if (button == null) return;
         String originalStyle = button.getStyle() != null ? button.getStyle() : "";
+        originalStyles.put(button, originalStyle);
         DropShadow shadow = new DropShadow();
 
         button.setOnMouseEntered(e -> {
@@ -111,13 +124,9 @@ public class PlaymodeController {
 
     private void launchGame(MouseEvent event, String mode, String leaderName) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Level.fxml"));
-            Parent root = loader.load();
-            LevelController controller = loader.getController();
-            controller.initializeGame(mode, leaderName, username);
-
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
+            SceneCache.getInstance().<LevelController>show(stage, "/eoc/ui/Level.fxml",
+                    controller -> controller.initializeGame(mode, leaderName, username));
             stage.show();
             stage.setResizable(false);
             System.out.println("Launched game: mode=" + mode + ", leader=" + leaderName + ", username=" + username);
@@ -130,12 +139,8 @@ public class PlaymodeController {
     private void navigateTo(MouseEvent event, String fxmlPath, java.util.function.Consumer<Object> setUsername) {
         try {
             Node source = (Node) event.getSource();
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Scene scene = new Scene(loader.load());
-            setUsername.accept(loader.getController());
-
             Stage stage = (Stage) source.getScene().getWindow();
-            stage.setScene(scene);
+            SceneCache.getInstance().show(stage, fxmlPath, setUsername);
             stage.show();
         } catch (IOException e) {
             System.err.println("❌ Failed to load " + fxmlPath + ": " + e.getMessage());
@@ -145,12 +150,8 @@ public class PlaymodeController {
 
     private void navigateTo(Node node, String fxmlPath, java.util.function.Consumer<Object> setUsername) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Scene scene = new Scene(loader.load());
-            setUsername.accept(loader.getController());
-
             Stage stage = (Stage) node.getScene().getWindow();
-            stage.setScene(scene);
+            SceneCache.getInstance().show(stage, fxmlPath, setUsername);
             stage.show();
             stage.setResizable(false);
         } catch (IOException e) {
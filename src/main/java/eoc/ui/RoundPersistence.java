@@ -0,0 +1,167 @@
+package eoc.ui;
+
+import com.echoesofcommand.ArchiveJournal;
+import com.echoesofcommand.ArchiveRecord;
+import com.echoesofcommand.LeaderStats;
+import com.echoesofcommand.Metrics;
+import com.echoesofcommand.WriteBehindQueue;
+import eoc.ui.model.Decision;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves finished rounds (archive entries, per-leader counters, best scores, overall stats) off the JavaFX thread.
+ * Rounds are handed to a write-behind queue; rounds that finish while a save is running are
+ * written together, and best scores and stats go to the {@link PlayerStore}.
+ */
+public class RoundPersistence {
+    private static final int QUEUE_CAPACITY = 256;
+    private static final RoundPersistence INSTANCE = create(Paths.get("Echoes_of_Command"), PlayerStore.getInstance());
+
+    private final Path archiveFilePath;
+    private final Path archiveJournalPath;
+    private final Path leaderStatsPath;
+    private final PlayerStore playerStore;
+    private WriteBehindQueue<RoundResult> queue;
+
+    private RoundPersistence(Path dataDir, PlayerStore playerStore) {
+        this.archiveFilePath = dataDir.resolve("archive.json");
+        this.archiveJournalPath = dataDir.resolve("archive.journal");
+        this.leaderStatsPath = dataDir.resolve("leader-stats.bin");
+        this.playerStore = playerStore;
+    }
+
+    public static RoundPersistence create(Path dataDir) {
+        return create(dataDir, new PlayerStore(dataDir));
+    }
+
+    /**
+     * Creates a persistence for a data directory and starts its writer thread.
+     */
+    public static RoundPersistence create(Path dataDir, PlayerStore playerStore) {
+        RoundPersistence persistence = new RoundPersistence(dataDir, playerStore);
+        persistence.start();
+        return persistence;
+    }
+
+    // Only once construction is complete, so the writer thread never sees a half-built instance
+    private void start() {
+        queue = new WriteBehindQueue<>("round-persistence", QUEUE_CAPACITY, this::writeBatch);
+        Metrics.getInstance().gauge("persistence.queue.depth", queue::getQueueDepth);
+    }
+
+    public static RoundPersistence getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues a finished round for saving and returns immediately.
+     */
+    public void submit(RoundResult result) {
+        queue.submit(result);
+        System.out.println("Queued round save: username=" + result.username() + ", mode=" + result.mode()
+                + ", queue depth=" + queue.getQueueDepth());
+    }
+
+    /**
+     * Waits for every round submitted so far to be written.
+     * @return true if all pending rounds were written before the timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        try {
+            return queue.awaitFlushed(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Like {@link #flush(long)}, but waits on a virtual thread so the FX thread never blocks.
+     * @return completes with true if all pending rounds were written before the timeout
+     */
+    public CompletableFuture<Boolean> flushAsync(long timeoutMillis) {
+        return CompletableFuture.supplyAsync(() -> flush(timeoutMillis),
+                runnable -> Thread.ofVirtual().name("round-flush-wait").start(runnable));
+    }
+
+    public PlayerStore getPlayerStore() {
+        return playerStore;
+    }
+
+    public WriteBehindQueue<RoundResult> getQueue() {
+        return queue;
+    }
+
+    private void writeBatch(List<RoundResult> batch) {
+        long start = System.nanoTime();
+        saveArchives(batch);
+        for (RoundResult result : batch) {
+            playerStore.recordRound(result.username(), result.mode(), result.score(), result.levelCount(),
+                    result.elapsedTime(), result.elapsedSeconds());
+        }
+        playerStore.checkpointIfNeeded();
+        Metrics.getInstance().histogram("persistence.write", "target", "rounds").recordSince(start);
+        Metrics.getInstance().counter("rounds.saved").add(batch.size());
+        System.out.printf("Saved %d round(s) in %.2f ms (queue depth %d)%n",
+                batch.size(), (System.nanoTime() - start) / 1_000_000.0, queue.getQueueDepth());
+    }
+
+    void saveArchives(List<RoundResult> batch) {
+        try {
+            ArchiveJournal journal = ArchiveJournal.open(archiveJournalPath, archiveFilePath);
+            LeaderStats leaderStats = LeaderStats.open(leaderStatsPath, journal);
+            long now = System.currentTimeMillis();
+            for (RoundResult result : batch) {
+                System.out.println("Saving archives: username=" + result.username() + ", mode=" + result.mode() + ", new entries=" + result.decisions().size());
+                // Append new archives, avoiding duplicates
+                for (Decision decision : result.decisions()) {
+                    ArchiveRecord archive = toArchiveEntry(result.username(), result.language(), decision);
+                    String key = archive.key();
+                    if (key == null) {
+                        System.err.println("⚠️ Skipping invalid archive entry: " + archive);
+                        continue;
+                    }
+                    boolean added = journal.appendIfAbsent(archive);
+                    if (added) {
+                        System.out.println("Added archive entry: " + key);
+                    } else {
+                        System.out.println("Skipped duplicate archive entry: " + key);
+                    }
+                    leaderStats.record(result.username(), decision.leaderName(), decision.isCorrect(), added, now);
+                }
+            }
+            journal.sync();
+            leaderStats.flush();
+            System.out.println("Archive journal holds " + journal.getRecordCount() + " total archive entries");
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("❌ Failed to save archive journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Turns a decision into an archive entry that refers to the level instead of copying its text.
+     */
+    static ArchiveRecord toArchiveEntry(String username, String language, Decision decision) {
+        return ArchiveRecord.of(username, decision.leaderName(), decision.level().getNumber(), language,
+                decision.choiceIndex(), decision.isCorrect(), decision.decidedAt());
+    }
+
+    /**
+     * Everything needed to save one finished (or abandoned) round.
+     * @param elapsedTime the round time as "mm:ss", used for best times
+     * @param elapsedSeconds the round time in seconds, used for the average time
+     * @param language the language code of the scenario text the round was played in
+     * @param decisions the choices made, turned into archive entries when the round is written
+     */
+    public record RoundResult(String username, String mode, int score, int levelCount,
+                              String elapsedTime, double elapsedSeconds, String language,
+                              List<Decision> decisions) {
+    }
+}
@@ -0,0 +1,291 @@
+package eoc.ui;
+
+import com.echoesofcommand.ArchiveJournal;
+import com.echoesofcommand.LeaderStats;
+import com.echoesofcommand.PlayPlan;
+import com.echoesofcommand.ScenarioCatalog;
+import com.echoesofcommand.WriteBehindQueue;
+import eoc.ui.model.Decision;
+import eoc.ui.model.Leader;
+import eoc.ui.model.Level;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Load generator for the round save path: N kiosks play full rounds at the same time and hand
+ * them to a {@link RoundPersistence} on a scratch directory, exactly as LevelController does
+ * when a round ends. Each round is then waited for the way the leaderboard screen waits for it.
+ * Afterwards everything is read back from disk and compared with what was played.
+ *
+ * <p>Kiosks finish each round together (a barrier releases them at once). With fewer users
+ * than kiosks, several kiosks play as the same user, so their updates to that user race.
+ *
+ * <p>Usage: {@code RoundPersistenceLoad [kiosks] [rounds per kiosk] [users] [dir] [seed]}
+ */
+public final class RoundPersistenceLoad {
+    private static final String[] MODES = {"SINGLE", "SEQUENTIAL", "RANDOM"};
+    private static final long FLUSH_TIMEOUT_MS = 60_000;
+
+    private final RoundPersistence persistence;
+    private final List<Leader> leaders;
+    private final int rounds;
+    private final int users;
+    private final long seed;
+    private final CyclicBarrier finishTogether;
+    private final Map<String, Expected> expected = new HashMap<>();
+    private final List<long[]> submitNanos = new ArrayList<>();
+    private final List<long[]> savedNanos = new ArrayList<>();
+    private int timeouts;
+
+    /**
+     * What one user should find on disk once every round has been saved.
+     */
+    private static final class Expected {
+        int levels;
+        int correct;
+        final int[] bestScores = new int[MODES.length];
+        final Set<String> archiveKeys = new HashSet<>();
+        final Map<String, int[]> leaderDecisions = new HashMap<>();
+    }
+
+    private RoundPersistenceLoad(Path dir, int kiosks, int rounds, int users, long seed) {
+        this.persistence = RoundPersistence.create(dir);
+        this.leaders = ScenarioCatalog.getInstance().guiLeaders("history.json");
+        this.rounds = rounds;
+        this.users = users;
+        this.seed = seed;
+        this.finishTogether = new CyclicBarrier(kiosks);
+    }
+
+    private static String usernameOf(int user) {
+        return "kiosk_" + user;
+    }
+
+    /**
+     * Plays one kiosk's rounds.
+     * @param kiosk The kiosk number.
+     */
+    private void play(int kiosk) {
+        SplittableRandom random = new SplittableRandom(seed + kiosk);
+        String username = usernameOf(kiosk % users);
+        persistence.getPlayerStore().recordLogin(username);
+        long[] submits = new long[rounds];
+        long[] saves = new long[rounds];
+        int missed = 0;
+        for (int round = 0; round < rounds; round++) {
+            String mode = MODES[(kiosk + round) % MODES.length];
+            PlayPlan<Leader, Level> plan = switch (mode) {
+                case "SINGLE" -> PlayPlan.compileGui(List.of(leaders.get(random.nextInt(leaders.size()))), false, null);
+                case "SEQUENTIAL" -> PlayPlan.compileGui(leaders, false, null);
+                default -> PlayPlan.compileGui(leaders, true, random);
+            };
+            long now = System.currentTimeMillis();
+            List<Decision> decisions = new ArrayList<>(plan.size());
+            int score = 0;
+            for (int i = 0; i < plan.size(); i++) {
+                int choice = random.nextInt(plan.level(i).getChoices().size());
+                Decision decision = new Decision(plan.level(i), (byte) choice, (byte) plan.historicalChoice(i), now);
+                decisions.add(decision);
+                if (decision.isCorrect()) score++;
+            }
+            long seconds = 20L * plan.size() + random.nextInt(60);
+            expect(username, mode, score, decisions);
+            RoundPersistence.RoundResult result = new RoundPersistence.RoundResult(username, mode, score, plan.size(),
+                    String.format("%02d:%02d", seconds / 60, seconds % 60), seconds, "en", decisions);
+
+            awaitOthers();
+            long start = System.nanoTime();
+            persistence.submit(result);
+            submits[round] = System.nanoTime() - start;
+            if (!persistence.flush(FLUSH_TIMEOUT_MS)) missed++;
+            saves[round] = System.nanoTime() - start;
+        }
+        synchronized (this) {
+            submitNanos.add(submits);
+            savedNanos.add(saves);
+            timeouts += missed;
+        }
+    }
+
+    private synchronized void expect(String username, String mode, int score, List<Decision> decisions) {
+        Expected user = expected.computeIfAbsent(username, name -> new Expected());
+        user.levels += decisions.size();
+        user.correct += score;
+        int modeIndex = Arrays.asList(MODES).indexOf(mode);
+        user.bestScores[modeIndex] = Math.max(user.bestScores[modeIndex], score);
+        for (Decision decision : decisions) {
+            user.archiveKeys.add(username + ":" + decision.leaderName() + ":" + decision.level().getNumber());
+            int[] counts = user.leaderDecisions.computeIfAbsent(decision.leaderName(), leader -> new int[2]);
+            counts[0]++;
+            if (decision.isCorrect()) counts[1]++;
+        }
+    }
+
+    private void awaitOthers() {
+        try {
+            finishTogether.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (BrokenBarrierException e) {
+            // another kiosk gave up; finish this round on its own
+        }
+    }
+
+    /**
+     * Reads players, stats, the archive journal and the leader counters back from disk and
+     * counts every update that did not arrive.
+     * @return Lost updates per kind, in report order.
+     */
+    private Map<String, Long> countLostUpdates(Path dir) throws IOException {
+        Path journalFile = dir.resolve("archive.journal");
+        Path legacyFile = dir.resolve("archive.json");
+        Path leaderStatsFile = dir.resolve("leader-stats.bin");
+        // Let a running compaction finish before the files are reopened
+        ArchiveJournal journal = ArchiveJournal.open(journalFile, legacyFile);
+        journal.compactAsync().join();
+        journal.close();
+        LeaderStats.open(leaderStatsFile, null).close();
+
+        PlayerStore store = new PlayerStore(dir);
+        ArchiveJournal archive = ArchiveJournal.open(journalFile, legacyFile);
+        LeaderStats leaderStats = LeaderStats.open(leaderStatsFile, archive);
+        Map<String, Long> lost = new LinkedHashMap<>();
+        for (String kind : List.of("players", "levels played", "correct choices", "best scores", "archive entries", "leader decisions")) {
+            lost.put(kind, 0L);
+        }
+        expected.forEach((username, user) -> {
+            PlayerStore.PlayerStats player = store.getPlayer(username);
+            PlayerStore.StatsData stats = store.getStats(username);
+            if (player == null) lost.merge("players", 1L, Long::sum);
+            lost.merge("levels played", (long) user.levels - (stats != null ? stats.totalLevelsPlayed : 0), Long::sum);
+            lost.merge("correct choices", (long) user.correct - (stats != null ? stats.totalCorrectChoices : 0), Long::sum);
+            int[] best = player != null
+                    ? new int[] {player.bestScoreSingle, player.bestScoreSequential, player.bestScoreRandom}
+                    : new int[MODES.length];
+            for (int mode = 0; mode < MODES.length; mode++) {
+                if (best[mode] != user.bestScores[mode]) lost.merge("best scores", 1L, Long::sum);
+            }
+            for (String key : user.archiveKeys) {
+                if (!archive.containsKey(key)) lost.merge("archive entries", 1L, Long::sum);
+            }
+            Map<String, LeaderStats.Counters> counters = leaderStats.forUser(username);
+            user.leaderDecisions.forEach((leader, counts) -> {
+                LeaderStats.Counters saved = counters.get(leader);
+                lost.merge("leader decisions", (long) counts[0] - (saved != null ? saved.attempts() : 0), Long::sum);
+            });
+        });
+        return lost;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    private static void printLatency(String name, List<long[]> samples) {
+        long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) return;
+        System.out.printf("%-22s p50 %8.2f ms, p99 %8.2f ms, p999 %8.2f ms, max %8.2f ms%n", name,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, percentile(all, 0.999) / 1e6, all[all.length - 1] / 1e6);
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    /**
+     * Bytes this process has written to storage so far, from /proc/self/io.
+     * @return The byte count, or -1 where the kernel does not report it.
+     */
+    private static long processBytesWritten() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/io"))) {
+                if (line.startsWith("write_bytes:")) {
+                    return Long.parseLong(line.substring("write_bytes:".length()).trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux, or not readable
+        }
+        return -1;
+    }
+
+    /**
+     * Runs the load test.
+     * @param args Kiosks, rounds per kiosk, users, data directory and seed, all optional.
+     *             Without a directory a temporary one is used.
+     * @throws Exception If the data directory cannot be used or reading back fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int kiosks = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 25;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : kiosks;
+        Path dir = args.length > 3 ? Files.createDirectories(Paths.get(args[3])) : Files.createTempDirectory("eoc-load");
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        RoundPersistenceLoad load = new RoundPersistenceLoad(dir, kiosks, rounds, users, seed);
+        System.out.printf("%d kiosks x %d rounds as %d users into %s%n", kiosks, rounds, users, dir);
+
+        // The save path logs every round and entry; keep the report readable
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long bytesBefore = processBytesWritten();
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>(kiosks);
+        try {
+            for (int i = 0; i < kiosks; i++) {
+                int kiosk = i;
+                threads.add(Thread.ofVirtual().name("kiosk-" + kiosk).start(() -> load.play(kiosk)));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            load.persistence.getQueue().shutdown(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } finally {
+            System.setOut(console);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long bytesWritten = bytesBefore >= 0 ? processBytesWritten() - bytesBefore : -1;
+
+        long total = (long) kiosks * rounds;
+        WriteBehindQueue<RoundPersistence.RoundResult> queue = load.persistence.getQueue();
+        System.out.printf("%d rounds in %.2f s: %.1f rounds/s, %d batches (avg %.2f ms, max %.2f ms), %d flush timeouts%n",
+                total, seconds, total / seconds, queue.getBatchCount(), queue.getAverageWriteMillis(),
+                queue.getMaxWriteNanos() / 1e6, load.timeouts);
+        printLatency("Submit (FX thread):", load.submitNanos);
+        printLatency("Round saved:", load.savedNanos);
+        System.out.printf("Files on disk: %,d bytes%n", directorySize(dir));
+        System.out.println(bytesWritten >= 0
+                ? String.format("Written by the process: %,d bytes (%,d per round)", bytesWritten, bytesWritten / Math.max(1, total))
+                : "Written by the process: not reported on this platform");
+
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Map<String, Long> lost;
+        try {
+            lost = load.countLostUpdates(dir);
+        } finally {
+            System.setOut(console);
+        }
+        long lostTotal = lost.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println("Lost updates: " + lostTotal);
+        lost.forEach((kind, count) -> System.out.printf("  %-18s %d%n", kind, count));
+    }
+}
@@ -0,0 +1,174 @@
+package eoc.ui;
+
+import com.echoesofcommand.GameEvents;
+import com.echoesofcommand.Metrics;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hands out FXML views for navigation. Views whose controller implements {@link Resettable}
+ * are kept after use and handed out again once they are off screen, so the FXML is parsed,
+ * the controller wired and the CSS applied only once. The views played every round are
+ * loaded on a background thread at startup. Each navigation logs how long it took from
+ * the request until the new scene was laid out.
+ */
+public class SceneCache {
+    private static final SceneCache INSTANCE = new SceneCache();
+    private static final List<String> PREWARMED = List.of(
+            "/eoc/ui/Playmode.fxml", "/eoc/ui/Level.fxml", "/eoc/ui/EndRound.fxml");
+    private static final int MAX_POOLED_PER_VIEW = 2;
+    private static final Object LATENCY_LISTENER = new Object();
+
+    // Only touched on the FX thread
+    private final Map<String, List<View<?>>> pool = new HashMap<>();
+
+    /**
+     * Implemented by controllers whose view may be reused: puts the controller and its
+     * nodes back into the state of a freshly loaded view.
+     */
+    public interface Resettable {
+        void reset();
+    }
+
+    public record View<C>(Scene scene, C controller) {
+    }
+
+    private SceneCache() {
+    }
+
+    public static SceneCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Loads the frequently used views on a background thread. Building nodes off the FX
+     * thread is allowed while they are not attached to a window; the Scene is then created
+     * and CSS applied on the FX thread before the views enter the pool.
+     */
+    public void prewarm() {
+        Thread.ofPlatform().daemon().name("scene-prewarm").start(() -> {
+            long start = System.nanoTime();
+            for (String fxmlPath : PREWARMED) {
+                try {
+                    FXMLLoader loader = loadFxml(fxmlPath);
+                    Platform.runLater(() -> {
+                        View<Object> view = toView(loader);
+                        view.scene().getRoot().applyCss();
+                        offer(fxmlPath, view);
+                    });
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("⚠️ Could not prewarm " + fxmlPath + ": " + e.getMessage());
+                }
+            }
+            System.out.printf("✅ Prewarmed %d views in %.1f ms%n", PREWARMED.size(), (System.nanoTime() - start) / 1e6);
+        });
+    }
+
+    /**
+     * Gets a view ready to be shown, reusing an idle pooled one when possible.
+     * Must be called on the FX thread.
+     */
+    @SuppressWarnings("unchecked")
+    public <C> View<C> load(String fxmlPath) throws IOException {
+        long start = System.nanoTime();
+        GameEvents.SceneLoad event = new GameEvents.SceneLoad();
+        event.begin();
+        // Stalls while the view is set up already count against the screen being opened
+        FxWatchdog.getInstance().setScreen(fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1).replace(".fxml", ""));
+        View<?> view = takeIdle(fxmlPath);
+        boolean reused = view != null;
+        if (reused) {
+            ((Resettable) view.controller()).reset();
+        } else {
+            view = toView(loadFxml(fxmlPath));
+            offer(fxmlPath, view);
+        }
+        logWhenLaidOut(view.scene(), fxmlPath, start, reused, event);
+        return (View<C>) view;
+    }
+
+    /**
+     * Shows a view on a stage after letting the caller pass state to its controller.
+     * @return The view's controller.
+     */
+    public <C> C show(Stage stage, String fxmlPath, Consumer<C> setup) throws IOException {
+        View<C> view = load(fxmlPath);
+        setup.accept(view.controller());
+        stage.setScene(view.scene());
+        return view.controller();
+    }
+
+    private View<?> takeIdle(String fxmlPath) {
+        for (View<?> view : pool.getOrDefault(fxmlPath, List.of())) {
+            Window window = view.scene().getWindow();
+            if (window == null || !window.isShowing()) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    private void offer(String fxmlPath, View<?> view) {
+        if (!(view.controller() instanceof Resettable)) {
+            return;
+        }
+        List<View<?>> views = pool.computeIfAbsent(fxmlPath, path -> new ArrayList<>());
+        if (views.size() < MAX_POOLED_PER_VIEW && !views.contains(view)) {
+            views.add(view);
+        }
+    }
+
+    private static FXMLLoader loadFxml(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(SceneCache.class.getResource(fxmlPath));
+        loader.load();
+        return loader;
+    }
+
+    // A Scene must be created on the FX thread
+    private static View<Object> toView(FXMLLoader loader) {
+        return new View<>(new Scene(loader.<Parent>getRoot()), loader.getController());
+    }
+
+    private static void logWhenLaidOut(Scene scene, String fxmlPath, long start, boolean reused, GameEvents.SceneLoad event) {
+        String name = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1);
+        if (scene.getProperties().remove(LATENCY_LISTENER) instanceof Runnable stale) {
+            scene.removePostLayoutPulseListener(stale); // the view was loaded before but never shown
+        }
+        Runnable listener = new Runnable() {
+            private boolean logged;
+
+            @Override
+            public void run() {
+                if (logged) return;
+                logged = true;
+                long elapsed = Metrics.getInstance().histogram("navigation",
+                        "view", name.replace(".fxml", ""), "source", reused ? "reused" : "loaded").recordSince(start);
+                System.out.printf("⏱️ %s shown in %.1f ms (%s)%n", name, elapsed / 1e6,
+                        reused ? "reused" : "loaded");
+                if (event.shouldCommit()) {
+                    event.view = name;
+                    event.reused = reused;
+                    event.commit();
+                }
+                // The scene is iterating its listeners right now, so remove this one afterwards
+                Platform.runLater(() -> {
+                    scene.removePostLayoutPulseListener(this);
+                    scene.getProperties().remove(LATENCY_LISTENER, this);
+                });
+            }
+        };
+        scene.getProperties().put(LATENCY_LISTENER, listener);
+        scene.addPostLayoutPulseListener(listener);
+    }
+}
@@ -1,12 +1,10 @@
 package eoc.ui;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.echoesofcommand.ArchiveJournal;
+import com.echoesofcommand.LeaderStats;
+import eoc.ui.PlayerStore.StatsData;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextArea;
@@ -16,11 +14,14 @@ import javafx.scene.text.TextFlow;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class StatsController {
     @FXML private Button backButton;
@@ -29,36 +30,16 @@ public class StatsController {
     @FXML private TextFlow progressFlow;
     @FXML private TextArea historyTextArea;
 
-    private static final String STATS_JSON_PATH = "stats.json";
     private static final String ARCHIVE_JSON_PATH = "archive.json";
-    private static final Path STATS_FILE_PATH = Paths.get("Echoes_of_Command", STATS_JSON_PATH);
     private static final Path ARCHIVE_FILE_PATH = Paths.get("Echoes_of_Command", ARCHIVE_JSON_PATH);
+    private static final Path ARCHIVE_JOURNAL_PATH = Paths.get("Echoes_of_Command", "archive.journal");
+    private static final Path LEADER_STATS_PATH = Paths.get("Echoes_of_Command", "leader-stats.bin");
+    private static final DateTimeFormatter LAST_PLAYED_FORMATTER = DateTimeFormatter
+            .ofPattern("dd-MM-yyyy HH:mm")
+            .withZone(ZoneId.systemDefault());
+    private static final long PENDING_SAVE_TIMEOUT_MS = 2000;
     private String username;
 
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    public static class StatsData {
-        public String username;
-        public int totalLevelsPlayed;
-        public int totalCorrectChoices;
-        public double averageTime;
-    }
-
-    public static class ArchiveEntry {
-        public String username;
-        public String leader;
-        public int levelNumber;
-        public String description;
-        public String historicalChoice;
-        public String summary;
-        public String playerChoice;
-        public boolean isCorrect;
-    }
-
-    private static class LeaderStats {
-        int totalLevels;
-        int correctLevels;
-    }
-
     public void setUsername(String username) {
         this.username = username.toLowerCase();
         loadStats();
@@ -70,64 +51,35 @@ public class StatsController {
     }
 
     private void loadStats() {
+        // Include a round that just ended, without freezing the screen while it is written;
+        // the stats are then read on the waiting thread and handed to the FX thread by updateUI
+        RoundPersistence.getInstance().flushAsync(PENDING_SAVE_TIMEOUT_MS).thenRun(this::readStats);
+    }
+
+    private void readStats() {
         try {
-            if (!Files.exists(STATS_FILE_PATH) || !Files.exists(ARCHIVE_FILE_PATH)) {
-                historyTextArea.setText("No game data found");
+            PlayerStore playerStore = PlayerStore.getInstance();
+            if (playerStore.size() == 0 || (!Files.exists(ARCHIVE_JOURNAL_PATH) && !Files.exists(ARCHIVE_FILE_PATH))) {
+                Platform.runLater(() -> historyTextArea.setText("No game data found"));
                 return;
             }
 
-            ObjectMapper mapper = new ObjectMapper();
-            List<StatsData> stats = mapper.readValue(
-                    Files.readAllBytes(STATS_FILE_PATH),
-                    new TypeReference<List<StatsData>>() {}
-            );
-
-            StatsData playerData = stats.stream()
-                    .filter(p -> username.equals(p.username.toLowerCase()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        StatsData defaultStats = new StatsData();
-                        defaultStats.username = username;
-                        defaultStats.totalLevelsPlayed = 0;
-                        defaultStats.totalCorrectChoices = 0;
-                        defaultStats.averageTime = 0.0;
-                        return defaultStats;
-                    });
-
-            Map<String, LeaderStats> leaderStats = calculateLeaderStats();
+            StatsData playerData = playerStore.getStats(username);
+            if (playerData == null) {
+                playerData = new StatsData();
+                playerData.username = username;
+            }
+
+            Map<String, LeaderStats.Counters> leaderStats = LeaderStats.open(LEADER_STATS_PATH,
+                    ArchiveJournal.open(ARCHIVE_JOURNAL_PATH, ARCHIVE_FILE_PATH)).forUser(username);
             updateUI(playerData, leaderStats);
 
-        } catch (IOException e) {
+        } catch (UncheckedIOException e) {
             showError("Failed to load stats: " + e.getMessage());
         }
     }
 
-    private Map<String, LeaderStats> calculateLeaderStats() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        List<ArchiveEntry> archives = mapper.readValue(
-                Files.readAllBytes(ARCHIVE_FILE_PATH),
-                new TypeReference<List<ArchiveEntry>>() {}
-        );
-
-        return archives.stream()
-                .filter(entry -> username.equals(entry.username.toLowerCase()))
-                .collect(Collectors.groupingBy(
-                        entry -> entry.leader,
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                entries -> {
-                                    LeaderStats stats = new LeaderStats();
-                                    stats.totalLevels = entries.size();
-                                    stats.correctLevels = (int) entries.stream()
-                                            .filter(e -> e.isCorrect)
-                                            .count();
-                                    return stats;
-                                }
-                        )
-                ));
-    }
-
-    private void updateUI(StatsData player, Map<String, LeaderStats> leaderStats) {
+    private void updateUI(StatsData player, Map<String, LeaderStats.Counters> leaderStats) {
         Platform.runLater(() -> {
             // Update metrics
             avgTimeFlow.getChildren().setAll(makeStyledText(String.format("%.2f s", player.averageTime)));
@@ -146,10 +98,15 @@ public class StatsController {
             } else {
                 leaderStats.forEach((leader, stats) -> {
                     statsText.append(String.format("%s:\n", leader));
-                    statsText.append(String.format("  Levels Completed: %d\n", stats.totalLevels));
-                    statsText.append(String.format("  Correct Choices: %d (%.1f%%)\n\n",
-                            stats.correctLevels,
-                            stats.totalLevels > 0 ? (stats.correctLevels * 100.0) / stats.totalLevels : 0));
+                    statsText.append(String.format("  Levels Completed: %d\n", stats.levels()));
+                    statsText.append(String.format("  Correct Choices: %d (%.1f%%)\n",
+                            stats.levelsCorrect(),
+                            stats.levels() > 0 ? (stats.levelsCorrect() * 100.0) / stats.levels() : 0));
+                    statsText.append(String.format("  Decisions Made: %d (%d correct)\n", stats.attempts(), stats.correct()));
+                    if (stats.lastPlayed() > 0) {
+                        statsText.append(String.format("  Last Played: %s\n", LAST_PLAYED_FORMATTER.format(Instant.ofEpochMilli(stats.lastPlayed()))));
+                    }
+                    statsText.append("\n");
                 });
             }
 
@@ -185,12 +142,10 @@ public class StatsController {
     @FXML
     private void onBackButtonClick() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Playmode.fxml"));
             Stage stage = (Stage) backButton.getScene().getWindow();
-            stage.setScene(new Scene(loader.load()));
-            stage.setResizable(false);
-            PlaymodeController controller = loader.getController();
-            controller.setUsername(username); // Pass lowercase username
+            SceneCache.getInstance().<PlaymodeController>show(stage, "/eoc/ui/Playmode.fxml",
+                    controller -> controller.setUsername(username));
+            stage.setResizable(false); // Pass lowercase username
         } catch (IOException e) {
             showError("Failed to return to play mode: " + e.getMessage());
         }
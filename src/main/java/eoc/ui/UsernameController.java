@@ -1,8 +1,6 @@
 package eoc.ui;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
@@ -11,22 +9,12 @@ import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
-
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 
 public class UsernameController {
 
@@ -101,34 +89,8 @@ public class UsernameController {
         // Convert username to lowercase to avoid case sensitivity
         String username = usernameInput.toLowerCase();
 
-        // Load existing players
-        List<Map<String, Object>> players = loadPlayers();
-        String currentTime = Instant.now().toString();
-        String lastLogin = null;
-
-        // Check if user exists (case-insensitive)
-        for (Map<String, Object> player : players) {
-            String storedUsername = ((String) player.get("username")).toLowerCase();
-            if (storedUsername.equals(username)) {
-                lastLogin = (String) player.get("lastLogin");
-                player.put("lastLogin", currentTime);
-                break;
-            }
-        }
-
-        // Add new user iff it doesn't exist
-        if (lastLogin == null) {
-            Map<String, Object> newPlayer = new HashMap<>();
-            newPlayer.put("username", username); // Store in lowercase
-            newPlayer.put("lastLogin", currentTime);
-            players.add(newPlayer);
-
-            // Initialize stats for new user in stats.json
-            initializeUserStats(username);
-        }
-
-        // Save updated players
-        savePlayers(players);
+        // Record the login; lastLogin is null for a new player
+        String lastLogin = PlayerStore.getInstance().recordLogin(username);
 
         // Show welcome message
         showWelcomeMessage(username, lastLogin);
@@ -137,43 +99,6 @@ public class UsernameController {
         navigateToPlaymode(username);
     }
 
-    private void initializeUserStats(String username) {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> stats = loadStats();
-        Map<String, Object> newStats = new HashMap<>();
-        newStats.put("username", username);
-        newStats.put("totalLevelsPlayed", 0);
-        newStats.put("totalCorrectChoices", 0);
-        newStats.put("averageTime", 0.0);
-        stats.add(newStats);
-
-        try {
-            Path statsPath = Paths.get("Echoes_of_Command", "stats.json");
-            Files.createDirectories(statsPath.getParent());
-            try (OutputStream output = Files.newOutputStream(statsPath)) {
-                mapper.writerWithDefaultPrettyPrinter().writeValue(output, stats);
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to initialize stats.json: " + e.getMessage());
-        }
-    }
-
-    private List<Map<String, Object>> loadStats() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> stats = new ArrayList<>();
-        Path statsPath = Paths.get("Echoes_of_Command", "stats.json");
-        try {
-            if (Files.exists(statsPath)) {
-                try (InputStream input = Files.newInputStream(statsPath)) {
-                    stats = mapper.readValue(input, new TypeReference<List<Map<String, Object>>>() {});
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to load stats.json: " + e.getMessage());
-        }
-        return stats;
-    }
-
     private void showWelcomeMessage(String username, String lastLogin) {
         String welcomeMessage;
         if (lastLogin != null) {
@@ -194,12 +119,10 @@ public class UsernameController {
 
     private void navigateToPlaymode(String username) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("Playmode.fxml"));
             Stage stage = new Stage(); // Create new stage
-            stage.setScene(new Scene(loader.load()));
+            SceneCache.getInstance().<PlaymodeController>show(stage, "/eoc/ui/Playmode.fxml",
+                    controller -> controller.setUsername(username));
             stage.setResizable(false);
-            PlaymodeController controller = loader.getController();
-            controller.setUsername(username);
 
             stage.setTitle("Play Mode");
             stage.show();
@@ -221,42 +144,6 @@ public class UsernameController {
         }
     }
 
-    private List<Map<String, Object>> loadPlayers() {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> players = new ArrayList<>();
-
-        try {
-            if (Files.exists(PLAYERS_FILE_PATH)) {
-                try (InputStream input = Files.newInputStream(PLAYERS_FILE_PATH)) {
-                    players = mapper.readValue(input, new TypeReference<List<Map<String, Object>>>() {});
-                }
-            } else {
-                // Try loading from resources as a fallback (back up plan, we always need to be prepared)
-                try (InputStream input = getClass().getClassLoader().getResourceAsStream(PLAYERS_JSON_PATH)) {
-                    if (input != null) {
-                        players = mapper.readValue(input, new TypeReference<List<Map<String, Object>>>() {});
-                        savePlayers(players); // Save to filesystem for persistence
-                    }
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to load players.json: " + e.getMessage());
-        }
-        return players;
-    }
-
-    private void savePlayers(List<Map<String, Object>> players) {
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            Files.createDirectories(PLAYERS_FILE_PATH.getParent());
-            try (OutputStream output = Files.newOutputStream(PLAYERS_FILE_PATH)) {
-                mapper.writerWithDefaultPrettyPrinter().writeValue(output, players);
-            }
-        } catch (IOException e) {
-            System.err.println("❌ Failed to save players.json: " + e.getMessage());
-        }
-    }
-
     private void showAlert(String message) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Username Confirmation");
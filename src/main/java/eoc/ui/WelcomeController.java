@@ -2,9 +2,7 @@ package eoc.ui;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.input.MouseEvent;
@@ -55,19 +53,18 @@ public class WelcomeController {
     @FXML
     protected void onStartButtonClick() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Username.fxml"));
-            Scene scene = new Scene(loader.load());
+            SceneCache.View<UsernameController> view = SceneCache.getInstance().load("/eoc/ui/Username.fxml");
 
             // Create the popup stage
             Stage popupStage = new Stage();
             popupStage.setTitle("Enter Username");
-            popupStage.setScene(scene);
+            popupStage.setScene(view.scene());
             popupStage.initModality(javafx.stage.Modality.APPLICATION_MODAL);
             popupStage.initOwner(startButton.getScene().getWindow());
             popupStage.setResizable(false);
 
             // call username controller
-            UsernameController controller = loader.getController();
+            UsernameController controller = view.controller();
             controller.setWelcomeStage((Stage) startButton.getScene().getWindow());
             controller.setUsernameStage(popupStage);
             controller.setWelcomeStageUsername(username); // Pass existing username if any
@@ -81,13 +78,12 @@ public class WelcomeController {
     @FXML
     protected void onLBButtonClick() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/eoc/ui/Leaderboard.fxml"));
-            Scene scene = new Scene(loader.load());
-            LeaderboardController controller = loader.getController();
+            SceneCache.View<LeaderboardController> view = SceneCache.getInstance().load("/eoc/ui/Leaderboard.fxml");
+            LeaderboardController controller = view.controller();
             controller.setUsername(username); // Pass username
             Stage stage = new Stage();
             stage.setTitle("Leaderboard");
-            stage.setScene(scene);
+            stage.setScene(view.scene());
             stage.initModality(javafx.stage.Modality.APPLICATION_MODAL);
             stage.initOwner(leaderboardButton.getScene().getWindow());
             stage.setResizable(false);
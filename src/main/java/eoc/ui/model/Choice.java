@@ -8,6 +8,14 @@ public class Choice {
     @JsonProperty("isHistorical")
     private boolean isHistorical;
 
+    public Choice() {
+    }
+
+    public Choice(String text, boolean isHistorical) {
+        this.text = text;
+        this.isHistorical = isHistorical;
+    }
+
     public String getText() {
         return text;
     }
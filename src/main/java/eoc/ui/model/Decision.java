@@ -0,0 +1,26 @@
+package eoc.ui.model;
+
+/**
+ * One choice made during a round. The level is referenced, not copied: its description,
+ * choices and summary are looked up from the level when the decision is saved or shown.
+ * The historical choice index comes precompiled from the round's PlayPlan (-1 if the level
+ * has none), so recording a decision is a single small allocation.
+ */
+public record Decision(Level level, byte choiceIndex, byte historicalChoice, long decidedAt) {
+
+    public boolean isCorrect() {
+        return choiceIndex == historicalChoice;
+    }
+
+    public String leaderName() {
+        return level.getLeader() != null ? level.getLeader().getName() : "Unknown";
+    }
+
+    public String choiceText() {
+        return level.getChoices().get(choiceIndex).getText();
+    }
+
+    public String historicalChoiceText() {
+        return historicalChoice >= 0 ? level.getChoices().get(historicalChoice).getText() : "";
+    }
+}
@@ -1,13 +1,30 @@
 package eoc.ui.model;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+
 import java.util.List;
 
 public class Leader {
     private String name;
     private String backstory;
-    private List<Level> levels;
+    private List<Level> levels = List.of();
+
+    public Leader() {
+    }
+
+    public Leader(String name, String backstory, List<Level> levels) {
+        this.name = name;
+        this.backstory = backstory;
+        this.levels = levels;
+    }
 
     public String getName() { return name; }
     public String getBackstory() { return backstory; }
     public List<Level> getLevels() { return levels; }
+
+    // Leaders are shared through the ScenarioCatalog, so keep the parsed levels read-only
+    @JsonSetter("levels")
+    private void setLevels(List<Level> levels) {
+        this.levels = levels != null ? List.copyOf(levels) : List.of();
+    }
 }
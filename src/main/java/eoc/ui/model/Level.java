@@ -1,15 +1,49 @@
 package eoc.ui.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
 import java.util.List;
 
 public class Level {
     private int number;
     private String description;
-    private List<Choice> choices;
+    private List<Choice> choices = List.of();
     private String summary;
+    private Leader leader;
+    private int leaderOrdinal = -1;
+
+    public Level() {
+    }
+
+    public Level(int number, String description, List<Choice> choices, String summary) {
+        this.number = number;
+        this.description = description;
+        this.choices = List.copyOf(choices);
+        this.summary = summary;
+    }
 
     public int getNumber() { return number; }
     public String getDescription() { return description; }
     public List<Choice> getChoices() { return choices; }
     public String getSummary() { return summary; }
-}
\ No newline at end of file
+
+    // Back-reference set by the ScenarioCatalog when the scenarios are loaded
+    @JsonIgnore
+    public Leader getLeader() { return leader; }
+    @JsonIgnore
+    public int getLeaderOrdinal() { return leaderOrdinal; }
+
+    public void attachLeader(Leader leader, int leaderOrdinal) {
+        if (this.leader != null && this.leader != leader) {
+            throw new IllegalStateException("Level " + number + " already belongs to " + this.leader.getName());
+        }
+        this.leader = leader;
+        this.leaderOrdinal = leaderOrdinal;
+    }
+
+    @JsonSetter("choices")
+    private void setChoices(List<Choice> choices) {
+        this.choices = choices != null ? List.copyOf(choices) : List.of();
+    }
+}
@@ -8,6 +8,9 @@ module eoc.ui {
     requires com.almasb.fxgl.all;
     requires com.google.gson;
     requires java.desktop;
+    requires java.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
     requires annotations;
     requires com.fasterxml.jackson.databind;
     requires javafx.media;
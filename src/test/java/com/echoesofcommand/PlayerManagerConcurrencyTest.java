@@ -0,0 +1,80 @@
+package com.echoesofcommand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Many sessions updating one shared player at once must not lose any update.
+ */
+class PlayerManagerConcurrencyTest {
+    private static final int THREADS = 64;
+    private static final int ROUNDS_PER_THREAD = 200;
+    private static final int LEVELS_PER_ROUND = 10;
+    private static final int CORRECT_PER_ROUND = 7;
+    private static final long TIME_PER_ROUND = 1_000;
+
+    @Test
+    void concurrentSessionsLoseNoUpdates() throws Exception {
+        PlayerManager pm = new PlayerManager();
+        String username = "concurrency-test-" + System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PlayerRecord>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    PlayerRecord player = null;
+                    for (int i = 0; i < ROUNDS_PER_THREAD; i++) {
+                        player = pm.login(username);
+                        pm.recordLogin(player);
+                        // Every thread scores up to 20; thread 0 alone reaches 21, once with a slow and once with a fast time
+                        int score = i % 20 + 1;
+                        long time = 60_000 + thread;
+                        if (thread == 0 && i == 0) {
+                            score = 21;
+                            time = 90_000;
+                        } else if (thread == 0 && i == 1) {
+                            score = 21;
+                            time = 30_000;
+                        }
+                        player.recordSession(score, time, true, false);
+                        player.updateStatistics(LEVELS_PER_ROUND, CORRECT_PER_ROUND, TIME_PER_ROUND);
+                        pm.updateRankings(player);
+                    }
+                    return player;
+                }));
+            }
+            start.countDown();
+            PlayerRecord first = futures.get(0).get();
+            for (Future<PlayerRecord> future : futures) {
+                assertSame(first, future.get(), "every session must share one record");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PlayerRecord player = pm.login(username);
+        long rounds = (long) THREADS * ROUNDS_PER_THREAD;
+        assertEquals(rounds, player.getLoginHistory().size());
+        assertEquals(rounds * LEVELS_PER_ROUND, player.getTotalLevelsPlayed());
+        assertEquals(rounds * CORRECT_PER_ROUND, player.getTotalCorrectChoices());
+        assertEquals(rounds * TIME_PER_ROUND, player.getTotalTimeMillis());
+        assertEquals(new PlayerRecord.Best(21, 30_000), player.getBest(GameMode.SEQUENTIAL));
+        assertEquals(21, player.getBestSequentialScore());
+        assertEquals(30_000, player.getBestSequentialTimeMillis());
+        assertEquals(0, player.getBestSingleScore());
+        assertEquals(0, player.getBestRandomizedScore());
+        assertEquals(1, pm.rankOf(player, GameMode.SEQUENTIAL));
+    }
+}